@@ -50,3 +50,20 @@ sourceSets {
     }
   }
 }
+
+val loadTest: SourceSet by sourceSets.creating {
+  compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+  runtimeClasspath += output + compileClasspath
+}
+
+dependencies {
+  "loadTestRuntimeOnly"(libs.slf4jJdk14)
+}
+
+tasks.register<JavaExec>("runLoadTest") {
+  group = "verification"
+  description = "Runs the headless display load simulator. Pass arguments with -PloadTestArgs=\"users=2000 duration=120\""
+  classpath = loadTest.runtimeClasspath
+  mainClass.set("xyz.jpenilla.tabtps.common.loadtest.LoadSimulator")
+  providers.gradleProperty("loadTestArgs").orNull?.let { args(it.split(' ')) }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * An {@link Audience} that counts what would have been sent to a client as packets.
+ */
+@NullMarked
+final class CountingAudience implements Audience {
+  private final LoadStats stats;
+  private final Map<BossBar, BossBar.Listener> bossBarListeners = new ConcurrentHashMap<>();
+
+  CountingAudience(final LoadStats stats) {
+    this.stats = stats;
+  }
+
+  @Override
+  public void sendActionBar(final Component message) {
+    this.stats.actionBar.increment();
+  }
+
+  @Override
+  public void sendPlayerListHeader(final Component header) {
+    this.stats.tabList.increment();
+  }
+
+  @Override
+  public void sendPlayerListFooter(final Component footer) {
+    this.stats.tabList.increment();
+  }
+
+  @Override
+  public void sendPlayerListHeaderAndFooter(final Component header, final Component footer) {
+    this.stats.tabList.increment();
+  }
+
+  @Override
+  public void showBossBar(final BossBar bar) {
+    final BossBar.Listener listener = new BossBar.Listener() {
+      @Override
+      public void bossBarNameChanged(final BossBar bar, final Component oldName, final Component newName) {
+        CountingAudience.this.stats.bossBar.increment();
+      }
+
+      @Override
+      public void bossBarProgressChanged(final BossBar bar, final float oldProgress, final float newProgress) {
+        CountingAudience.this.stats.bossBar.increment();
+      }
+
+      @Override
+      public void bossBarColorChanged(final BossBar bar, final BossBar.Color oldColor, final BossBar.Color newColor) {
+        CountingAudience.this.stats.bossBar.increment();
+      }
+
+      @Override
+      public void bossBarOverlayChanged(final BossBar bar, final BossBar.Overlay oldOverlay, final BossBar.Overlay newOverlay) {
+        CountingAudience.this.stats.bossBar.increment();
+      }
+    };
+    if (this.bossBarListeners.putIfAbsent(bar, listener) == null) {
+      bar.addListener(listener);
+      this.stats.bossBar.increment();
+    }
+  }
+
+  @Override
+  public void hideBossBar(final BossBar bar) {
+    final BossBar.Listener listener = this.bossBarListeners.remove(bar);
+    if (listener != null) {
+      bar.removeListener(listener);
+      this.stats.bossBar.increment();
+    }
+  }
+}
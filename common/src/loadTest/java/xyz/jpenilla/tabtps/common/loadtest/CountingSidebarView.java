@@ -0,0 +1,62 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
+
+/**
+ * A {@link SidebarView} that counts the packets the vanilla sidebar implementations send:
+ * one per objective add or remove, display slot, and line score.
+ */
+@NullMarked
+final class CountingSidebarView implements SidebarView {
+  private final LoadStats stats;
+  private boolean shown = false;
+
+  CountingSidebarView(final LoadStats stats) {
+    this.stats = stats;
+  }
+
+  @Override
+  public void show(final Component title, final int lines) {
+    this.shown = true;
+    // Objective, a blank score per line, and the display slot
+    this.stats.sidebar.add(2L + lines);
+  }
+
+  @Override
+  public void line(final int index, final Component content) {
+    this.stats.sidebar.increment();
+  }
+
+  @Override
+  public void hide() {
+    if (this.shown) {
+      this.shown = false;
+      this.stats.sidebar.increment();
+    }
+  }
+}
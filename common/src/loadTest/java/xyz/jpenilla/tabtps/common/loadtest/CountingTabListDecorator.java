@@ -0,0 +1,64 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
+
+/**
+ * A {@link TabListLatency.Decorator} that counts packets the way the platform decorators
+ * batch them: one multi-entry player info update per viewer for each call, whatever
+ * the number of changed names.
+ */
+@NullMarked
+final class CountingTabListDecorator implements TabListLatency.Decorator {
+  private final SimulatedPlatform platform;
+
+  CountingTabListDecorator(final SimulatedPlatform platform) {
+    this.platform = platform;
+  }
+
+  @Override
+  public void decorate(final Map<UUID, Component> suffixes) {
+    this.broadcast(suffixes.size());
+  }
+
+  @Override
+  public void clear(final Collection<UUID> players) {
+    this.broadcast(players.size());
+  }
+
+  private void broadcast(final int entries) {
+    if (entries == 0) {
+      return;
+    }
+    final LoadStats stats = this.platform.stats();
+    stats.tabListLatency.add(this.platform.players().size());
+    stats.tabListLatencyEntries.add(entries);
+  }
+}
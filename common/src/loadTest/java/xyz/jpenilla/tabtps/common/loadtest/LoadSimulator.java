@@ -0,0 +1,204 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.display.DisplayHandler;
+
+/**
+ * Headless load simulator that runs TabTPS displays for many simulated players.
+ *
+ * <p>Arguments are given as {@code key=value} pairs:</p>
+ * <ul>
+ *   <li>{@code users} - number of simulated players (default 1000)</li>
+ *   <li>{@code duration} - measured seconds (default 60)</li>
+ *   <li>{@code warmup} - seconds to run before measuring (default 10)</li>
+ *   <li>{@code trace} - synthetic tick trace, one of [steady, spiky, overloaded, wave] (default steady)</li>
+ *   <li>{@code dataDir} - directory with TabTPS configs to use, a temporary directory with defaults is used otherwise</li>
+ * </ul>
+ *
+ * <p>The temporary directory also enables {@code tab-list-latency}, which is off by default,
+ * so its player info updates are part of the measurement.</p>
+ */
+@NullMarked
+public final class LoadSimulator {
+  private static final long PROBE_INTERVAL_MILLIS = 50L;
+
+  private LoadSimulator() {
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final Map<String, String> options = parseArgs(args);
+    final int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+    final int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+    final int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+    final SyntheticTickTimeService.Trace trace = SyntheticTickTimeService.Trace.fromName(options.getOrDefault("trace", "steady"));
+    final boolean temporaryData = !options.containsKey("dataDir");
+    final Path dataDirectory = temporaryData
+      ? Files.createTempDirectory("tabtps-loadtest")
+      : Paths.get(options.get("dataDir"));
+    if (temporaryData) {
+      // Missing settings keep their defaults, and are written back on load
+      Files.write(dataDirectory.resolve("main.conf"), "tab-list-latency.enabled = true\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    final LoadStats stats = new LoadStats();
+    final SimulatedPlatform platform = new SimulatedPlatform(dataDirectory, trace, stats);
+
+    final List<SimulatedPlayer> players = new ArrayList<>(users);
+    for (int i = 0; i < users; i++) {
+      final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "Player" + i, ThreadLocalRandom.current().nextInt(20, 200));
+      players.add(player);
+      platform.join(player);
+      enableAllDisplays(platform.userService().user(player.uuid()));
+    }
+    System.out.printf(Locale.ROOT, "Joined %d simulated players, warming up for %ds%n", users, warmup);
+    TimeUnit.SECONDS.sleep(warmup);
+
+    final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    stats.reset();
+    final long[] probeTick = {0L};
+    final long probeStart = System.nanoTime();
+    final Future<?> probe = platform.tabTPS().executor().scheduleAtFixedRate(() -> {
+      final long expected = probeStart + TimeUnit.MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS * probeTick[0]++);
+      stats.recordLateness(Math.max(0L, System.nanoTime() - expected));
+    }, 0L, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    final long cpuStart = totalCpuNanos(threads);
+    final long allocatedStart = totalAllocatedBytes(threads);
+    final long start = System.nanoTime();
+
+    System.out.printf(Locale.ROOT, "Measuring for %ds with the %s trace%n", duration, trace.name().toLowerCase(Locale.ROOT));
+    TimeUnit.SECONDS.sleep(duration);
+
+    final double seconds = (System.nanoTime() - start) / 1.0E9D;
+    final long cpu = totalCpuNanos(threads) - cpuStart;
+    final long allocated = totalAllocatedBytes(threads) - allocatedStart;
+    probe.cancel(false);
+
+    report(users, seconds, cpu, allocated, stats);
+
+    players.forEach(platform::quit);
+    platform.tabTPS().shutdown();
+    platform.shutdown();
+    if (temporaryData) {
+      deleteRecursively(dataDirectory);
+    }
+  }
+
+  private static void enableAllDisplays(final User<?> user) {
+    for (final DisplayHandler<?> display : user.displays()) {
+      if (!display.enabled()) {
+        display.enabled(true);
+        display.startDisplay();
+      }
+    }
+  }
+
+  private static void report(
+    final int users,
+    final double seconds,
+    final long cpuNanos,
+    final long allocatedBytes,
+    final LoadStats stats
+  ) {
+    final double cpuMillisPerSecond = cpuNanos / 1.0E6D / seconds;
+    final double allocatedMegabytesPerSecond = allocatedBytes / (1024.0D * 1024.0D) / seconds;
+    final long samples = Math.max(1L, stats.latenessSamples.sum());
+
+    System.out.println();
+    System.out.printf(Locale.ROOT, "Users:              %d%n", users);
+    System.out.printf(Locale.ROOT, "Duration:           %.1fs%n", seconds);
+    System.out.printf(Locale.ROOT, "CPU (all threads):  %.2f ms/s, %.2f us/s per user%n",
+      cpuMillisPerSecond, cpuMillisPerSecond * 1000.0D / users);
+    System.out.printf(Locale.ROOT, "Allocation rate:    %.2f MB/s, %.2f KB/s per user%n",
+      allocatedMegabytesPerSecond, allocatedMegabytesPerSecond * 1024.0D / users);
+    System.out.printf(Locale.ROOT, "Packets:            %.1f/s, %.2f/s per user%n",
+      stats.packets() / seconds, stats.packets() / seconds / users);
+    System.out.printf(Locale.ROOT, "  tab list:         %.1f/s%n", stats.tabList.sum() / seconds);
+    System.out.printf(Locale.ROOT, "  action bar:       %.1f/s%n", stats.actionBar.sum() / seconds);
+    System.out.printf(Locale.ROOT, "  boss bar:         %.1f/s%n", stats.bossBar.sum() / seconds);
+    System.out.printf(Locale.ROOT, "  sidebar:          %.1f/s%n", stats.sidebar.sum() / seconds);
+    System.out.printf(Locale.ROOT, "  tab list latency: %.1f/s, carrying %.1f name updates/s%n",
+      stats.tabListLatency.sum() / seconds, stats.tabListLatencyEntries.sum() / seconds);
+    System.out.printf(Locale.ROOT, "Executor lateness:  avg %.2f ms, max %.2f ms%n",
+      stats.latenessTotalNanos.sum() / 1.0E6D / samples, stats.latenessMaxNanos.get() / 1.0E6D);
+  }
+
+  private static long totalCpuNanos(final ThreadMXBean threads) {
+    return sumValid(threads.getThreadCpuTime(threads.getAllThreadIds()));
+  }
+
+  private static long totalAllocatedBytes(final ThreadMXBean threads) {
+    return sumValid(threads.getThreadAllocatedBytes(threads.getAllThreadIds()));
+  }
+
+  private static long sumValid(final long[] values) {
+    long total = 0;
+    for (final long value : values) {
+      if (value > 0) {
+        total += value;
+      }
+    }
+    return total;
+  }
+
+  private static Map<String, String> parseArgs(final String[] args) {
+    final Map<String, String> options = new HashMap<>();
+    for (final String arg : args) {
+      final int split = arg.indexOf('=');
+      if (split == -1) {
+        throw new IllegalArgumentException("Expected key=value argument, got: " + arg);
+      }
+      options.put(arg.substring(0, split), arg.substring(split + 1));
+    }
+    return options;
+  }
+
+  private static void deleteRecursively(final Path directory) throws IOException {
+    try (final Stream<Path> paths = Files.walk(directory)) {
+      for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class LoadStats {
+  final LongAdder tabList = new LongAdder();
+  final LongAdder actionBar = new LongAdder();
+  final LongAdder bossBar = new LongAdder();
+  final LongAdder sidebar = new LongAdder();
+  final LongAdder tabListLatency = new LongAdder();
+  final LongAdder tabListLatencyEntries = new LongAdder();
+  final LongAdder latenessSamples = new LongAdder();
+  final LongAdder latenessTotalNanos = new LongAdder();
+  final LongAccumulator latenessMaxNanos = new LongAccumulator(Math::max, 0L);
+
+  void recordLateness(final long nanos) {
+    this.latenessSamples.increment();
+    this.latenessTotalNanos.add(nanos);
+    this.latenessMaxNanos.accumulate(nanos);
+  }
+
+  long packets() {
+    return this.tabList.sum() + this.actionBar.sum() + this.bossBar.sum() + this.sidebar.sum() + this.tabListLatency.sum();
+  }
+
+  void reset() {
+    this.tabList.reset();
+    this.actionBar.reset();
+    this.bossBar.reset();
+    this.sidebar.reset();
+    this.tabListLatency.reset();
+    this.tabListLatencyEntries.reset();
+    this.latenessSamples.reset();
+    this.latenessTotalNanos.reset();
+    this.latenessMaxNanos.reset();
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.internal.CommandRegistrationHandler;
+import org.jspecify.annotations.NullMarked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.TabTPSPlatform;
+import xyz.jpenilla.tabtps.common.command.Commander;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
+import xyz.jpenilla.tabtps.common.service.TickTimeService;
+import xyz.jpenilla.tabtps.common.service.UserService;
+
+@NullMarked
+final class SimulatedPlatform implements TabTPSPlatform<SimulatedPlayer, SimulatedUser> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulatedPlatform.class);
+
+  private final Path dataDirectory;
+  private final LoadStats stats;
+  private final SyntheticTickTimeService tickTimeService;
+  private final CommandManager<Commander> commandManager;
+  private final Map<UUID, SimulatedPlayer> players = new ConcurrentHashMap<>();
+  private final SimulatedUserService userService;
+  private final CountingTabListDecorator tabListDecorator;
+  private final TabTPS tabTPS;
+
+  SimulatedPlatform(
+    final Path dataDirectory,
+    final SyntheticTickTimeService.Trace trace,
+    final LoadStats stats
+  ) {
+    this.dataDirectory = dataDirectory;
+    this.stats = stats;
+    this.tickTimeService = new SyntheticTickTimeService(trace);
+    this.commandManager = new SimulatedCommandManager();
+    this.userService = new SimulatedUserService(this);
+    this.tabListDecorator = new CountingTabListDecorator(this);
+    this.tabTPS = new TabTPS(this);
+  }
+
+  LoadStats stats() {
+    return this.stats;
+  }
+
+  void join(final SimulatedPlayer player) {
+    this.players.put(player.uuid(), player);
+    this.userService.handleJoin(player);
+  }
+
+  void quit(final SimulatedPlayer player) {
+    this.players.remove(player.uuid());
+    this.userService.handleQuit(player);
+  }
+
+  boolean online(final SimulatedPlayer player) {
+    return this.players.get(player.uuid()) == player;
+  }
+
+  Collection<SimulatedPlayer> players() {
+    return Collections.unmodifiableCollection(this.players.values());
+  }
+
+  @Override
+  public UserService<SimulatedPlayer, SimulatedUser> userService() {
+    return this.userService;
+  }
+
+  @Override
+  public Path dataDirectory() {
+    return this.dataDirectory;
+  }
+
+  @Override
+  public TabTPS tabTPS() {
+    return this.tabTPS;
+  }
+
+  @Override
+  public TickTimeService tickTimeService() {
+    return this.tickTimeService;
+  }
+
+  @Override
+  public TabListLatency.Decorator tabListDecorator() {
+    return this.tabListDecorator;
+  }
+
+  @Override
+  public int maxPlayers() {
+    return Math.max(100, this.players.size());
+  }
+
+  @Override
+  public void shutdown() {
+    this.tickTimeService.shutdown();
+  }
+
+  @Override
+  public void onReload() {
+  }
+
+  @Override
+  public Logger logger() {
+    return LOGGER;
+  }
+
+  @Override
+  public CommandManager<Commander> commandManager() {
+    return this.commandManager;
+  }
+
+  private static final class SimulatedCommandManager extends CommandManager<Commander> {
+    SimulatedCommandManager() {
+      super(ExecutionCoordinator.simpleCoordinator(), CommandRegistrationHandler.nullCommandRegistrationHandler());
+    }
+
+    @Override
+    public boolean hasPermission(final Commander sender, final String permission) {
+      return sender.hasPermission(permission);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.AbstractUser;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
+
+import static net.kyori.adventure.text.Component.text;
+
+@NullMarked
+final class SimulatedUser extends AbstractUser<SimulatedPlayer> {
+  private final SimulatedPlatform platform;
+  private final Audience audience;
+
+  SimulatedUser(final SimulatedPlatform platform, final SimulatedPlayer player) {
+    super(platform.tabTPS(), player, player.uuid());
+    this.platform = platform;
+    this.audience = new CountingAudience(platform.stats());
+  }
+
+  @Override
+  public Component displayName() {
+    return text(this.base().name());
+  }
+
+  @Override
+  public boolean online() {
+    return this.platform.online(this.base());
+  }
+
+  @Override
+  public int ping() {
+    return this.base().ping();
+  }
+
+  @Override
+  public boolean hasPermission(final String permissionString) {
+    return true;
+  }
+
+  @Override
+  public Audience audience() {
+    return this.audience;
+  }
+
+  @Override
+  public SidebarView createSidebarView() {
+    return new CountingSidebarView(this.platform.stats());
+  }
+}
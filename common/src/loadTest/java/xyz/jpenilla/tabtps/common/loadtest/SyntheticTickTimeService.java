@@ -0,0 +1,154 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.service.TickTimeService;
+import xyz.jpenilla.tabtps.common.util.MetricsSnapshot;
+import xyz.jpenilla.tabtps.common.util.RollingAverage;
+
+/**
+ * A {@link TickTimeService} backed by a synthetic tick trace instead of a server.
+ *
+ * <p>A background thread produces one tick duration every 50ms according to the
+ * selected {@link Trace}, and averages are computed the same way the platform
+ * implementations do, over the last 100 ticks. Like the platform tick hooks, a
+ * {@link MetricsSnapshot} is published every {@link RollingAverage#SAMPLE_INTERVAL} ticks
+ * for displays to read.</p>
+ */
+@NullMarked
+final class SyntheticTickTimeService implements TickTimeService {
+  private static final int WINDOW = 100;
+
+  private final Trace trace;
+  private final double[] tickTimes = new double[WINDOW];
+  private final ScheduledExecutorService ticker;
+  private final Future<?> tickTask;
+  private int index = 0;
+  private long tick = 0;
+  private volatile @Nullable MetricsSnapshot snapshot;
+
+  SyntheticTickTimeService(final Trace trace) {
+    this.trace = trace;
+    this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "TabTPS Synthetic Ticker");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.tickTask = this.ticker.scheduleAtFixedRate(this::tick, 0L, 50L, TimeUnit.MILLISECONDS);
+  }
+
+  private synchronized void tick() {
+    this.tickTimes[this.index] = this.trace.tickTime(this.tick++);
+    this.index = (this.index + 1) % WINDOW;
+    if (this.tick % RollingAverage.SAMPLE_INTERVAL == 0) {
+      double max = 0;
+      for (final double tickTime : this.tickTimes) {
+        max = Math.max(max, tickTime);
+      }
+      this.snapshot = MetricsSnapshot.of(this.recentTps(), this.averageMspt(), max, (int) this.tick);
+    }
+  }
+
+  void shutdown() {
+    this.tickTask.cancel(false);
+    this.ticker.shutdown();
+  }
+
+  @Override
+  public MetricsSnapshot snapshot() {
+    final MetricsSnapshot snapshot = this.snapshot;
+    return snapshot != null ? snapshot : MetricsSnapshot.capture(this, 0);
+  }
+
+  @Override
+  public synchronized double averageMspt() {
+    double total = 0;
+    for (final double tickTime : this.tickTimes) {
+      total += tickTime;
+    }
+    return total / WINDOW;
+  }
+
+  @Override
+  public double[] recentTps() {
+    final double tps = Math.min(20.0D, 1000.0D / Math.max(50.0D, this.averageMspt()));
+    return new double[]{tps, tps, tps};
+  }
+
+  enum Trace {
+    /**
+     * A healthy server with some noise around 20 MSPT.
+     */
+    STEADY {
+      @Override
+      double tickTime(final long tick) {
+        return 20.0D + ThreadLocalRandom.current().nextGaussian() * 3.0D;
+      }
+    },
+    /**
+     * A healthy server with a 250ms spike roughly every ten seconds.
+     */
+    SPIKY {
+      @Override
+      double tickTime(final long tick) {
+        if (ThreadLocalRandom.current().nextInt(200) == 0) {
+          return 250.0D;
+        }
+        return STEADY.tickTime(tick);
+      }
+    },
+    /**
+     * An overloaded server that can't keep up with 20 TPS.
+     */
+    OVERLOADED {
+      @Override
+      double tickTime(final long tick) {
+        return 65.0D + ThreadLocalRandom.current().nextGaussian() * 10.0D;
+      }
+    },
+    /**
+     * Slowly oscillates between healthy and overloaded over a one minute period.
+     */
+    WAVE {
+      @Override
+      double tickTime(final long tick) {
+        return 40.0D + Math.sin(tick * Math.PI / 600.0D) * 30.0D;
+      }
+    };
+
+    abstract double tickTime(long tick);
+
+    static Trace fromName(final String name) {
+      return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+  }
+}
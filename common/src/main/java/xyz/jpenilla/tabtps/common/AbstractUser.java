@@ -28,10 +28,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import org.jspecify.annotations.NullMarked;
-import xyz.jpenilla.tabtps.common.config.PluginSettings;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.display.DisplayHandler;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
+import xyz.jpenilla.tabtps.common.display.UpdateRateController;
 import xyz.jpenilla.tabtps.common.display.task.ActionBarDisplayTask;
 import xyz.jpenilla.tabtps.common.display.task.BossBarDisplayTask;
+import xyz.jpenilla.tabtps.common.display.task.SidebarDisplayTask;
 import xyz.jpenilla.tabtps.common.display.task.TabDisplayTask;
 
 @NullMarked
@@ -65,31 +68,42 @@ public abstract class AbstractUser<P> implements User<P> {
     private final DisplayHandler<TabDisplayTask> tabDisplayHandler;
     private final DisplayHandler<ActionBarDisplayTask> actionBarDisplayHandler;
     private final DisplayHandler<BossBarDisplayTask> bossBarDisplayHandler;
+    private final DisplayHandler<SidebarDisplayTask> sidebarDisplayHandler;
     private transient boolean dirty = false;
 
     private StateImpl(
       final TabTPS tabTPS,
       final User<?> user
     ) {
-      final PluginSettings.UpdateRates rates = tabTPS.configManager().pluginSettings().updateRates();
+      final UpdateRateController rates = tabTPS.updateRateController();
       this.tabDisplayHandler = new DisplayHandler<>(
         tabTPS,
         user,
-        rates.tab(),
+        rates::tabRate,
         config -> new TabDisplayTask(tabTPS, user, config.tabSettings())
       );
       this.actionBarDisplayHandler = new DisplayHandler<>(
         tabTPS,
         user,
-        rates.actionBar(),
+        rates::actionBarRate,
         config -> new ActionBarDisplayTask(tabTPS, user, config.actionBarSettings())
       );
       this.bossBarDisplayHandler = new DisplayHandler<>(
         tabTPS,
         user,
-        rates.bossBar(),
+        rates::bossBarRate,
         config -> new BossBarDisplayTask(tabTPS, user, config.bossBarSettings())
       );
+      this.sidebarDisplayHandler = new DisplayHandler<>(
+        tabTPS,
+        user,
+        rates::sidebarRate,
+        config -> {
+          final @Nullable SidebarView view = user.createSidebarView();
+          // Nothing to run where the platform can't show a sidebar
+          return view == null ? null : new SidebarDisplayTask(tabTPS, user, view, config.sidebarSettings());
+        }
+      );
     }
 
     @Override
@@ -97,6 +111,11 @@ public abstract class AbstractUser<P> implements User<P> {
       this.bossBarDisplayHandler.enabled(from.bossBar().enabled());
       this.actionBarDisplayHandler.enabled(from.actionBar().enabled());
       this.tabDisplayHandler.enabled(from.tab().enabled());
+      // Missing from user data saved before the sidebar display existed
+      final @Nullable DisplayHandler<SidebarDisplayTask> sidebar = from.sidebar();
+      if (sidebar != null) {
+        this.sidebarDisplayHandler.enabled(sidebar.enabled());
+      }
       if (from.shouldSave()) {
         this.markDirty();
       }
@@ -117,10 +136,15 @@ public abstract class AbstractUser<P> implements User<P> {
       return this.bossBarDisplayHandler;
     }
 
+    @Override
+    public DisplayHandler<SidebarDisplayTask> sidebar() {
+      return this.sidebarDisplayHandler;
+    }
+
     @Override
     public List<DisplayHandler<?>> displays() {
       return Collections.unmodifiableList(Arrays.asList(
-        this.tab(), this.actionBar(), this.bossBar()
+        this.tab(), this.actionBar(), this.bossBar(), this.sidebar()
       ));
     }
 
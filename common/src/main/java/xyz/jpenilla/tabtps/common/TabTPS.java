@@ -25,6 +25,7 @@ package xyz.jpenilla.tabtps.common;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -40,12 +41,36 @@ import xyz.jpenilla.tabtps.common.command.commands.ReloadCommand;
 import xyz.jpenilla.tabtps.common.command.commands.ToggleDisplayCommands;
 import xyz.jpenilla.tabtps.common.config.ConfigManager;
 import xyz.jpenilla.tabtps.common.config.DisplayConfig;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
+import xyz.jpenilla.tabtps.common.display.TickInfoWatchers;
+import xyz.jpenilla.tabtps.common.display.UpdateRateController;
+import xyz.jpenilla.tabtps.common.display.task.SharedBossBars;
+import xyz.jpenilla.tabtps.common.util.AllocationMonitor;
 import xyz.jpenilla.tabtps.common.util.CPUMonitor;
+import xyz.jpenilla.tabtps.common.util.GCMonitor;
+import xyz.jpenilla.tabtps.common.util.IdleMode;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
+import xyz.jpenilla.tabtps.common.util.NativeMemoryMonitor;
+import xyz.jpenilla.tabtps.common.util.PingMonitor;
+import xyz.jpenilla.tabtps.common.util.StallWatchdog;
+import xyz.jpenilla.tabtps.common.util.TickPhases;
 
 @NullMarked
 public final class TabTPS {
   private final TabTPSPlatform<?, ?> platform;
   private final CPUMonitor cpuMonitor;
+  private final GCMonitor gcMonitor;
+  private final AllocationMonitor allocationMonitor;
+  private final NativeMemoryMonitor nativeMemoryMonitor;
+  private final PingMonitor pingMonitor;
+  private final MetricSamplers metricSamplers;
+  private final IdleMode idleMode;
+  private final UpdateRateController updateRateController;
+  private final SharedBossBars sharedBossBars;
+  private final TickInfoWatchers tickInfoWatchers;
+  private final TabListLatency tabListLatency;
+  private final StallWatchdog stallWatchdog;
   private final ConfigManager configManager;
   private final ScheduledExecutorService executor;
   private final Commands commands;
@@ -56,12 +81,29 @@ public final class TabTPS {
       Messages.load();
       this.configManager = new ConfigManager(platform.dataDirectory());
       this.configManager.load();
+      TickPhases.enabled(this.configManager.pluginSettings().tickPhaseTiming());
       final ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(4);
       ex.setRemoveOnCancelPolicy(true);
       this.executor = Executors.unconfigurableScheduledExecutorService(ex);
       this.commands = new Commands(this, platform.commandManager());
       this.registerCommands();
-      this.cpuMonitor = new CPUMonitor();
+      this.cpuMonitor = new CPUMonitor(this.executor);
+      this.gcMonitor = new GCMonitor();
+      this.allocationMonitor = new AllocationMonitor(this.executor);
+      this.nativeMemoryMonitor = new NativeMemoryMonitor(this.executor);
+      this.pingMonitor = new PingMonitor(this.executor, platform);
+      this.metricSamplers = new MetricSamplers(this.executor);
+      this.metricSamplers.register(Metric.CPU, this.cpuMonitor);
+      this.metricSamplers.register(Metric.ALLOCATION, this.allocationMonitor);
+      this.metricSamplers.register(Metric.NATIVE_MEMORY, this.nativeMemoryMonitor);
+      this.metricSamplers.register(Metric.PING, this.pingMonitor);
+      this.idleMode = new IdleMode(this.executor, this.metricSamplers, () -> platform.userService().onlinePlayers());
+      this.updateRateController = new UpdateRateController(this);
+      this.sharedBossBars = new SharedBossBars(this);
+      this.tickInfoWatchers = new TickInfoWatchers(this);
+      this.tabListLatency = new TabListLatency(this);
+      this.stallWatchdog = new StallWatchdog(platform.logger(), platform.dataDirectory());
+      this.stallWatchdog.configure(this.configManager.pluginSettings().stallWatchdog());
     } catch (final IOException e) {
       this.platform.shutdown();
       this.shutdown();
@@ -70,8 +112,20 @@ public final class TabTPS {
   }
 
   public void shutdown() {
-    if (this.cpuMonitor != null) {
-      this.cpuMonitor.shutdown();
+    if (this.stallWatchdog != null) {
+      this.stallWatchdog.stop();
+    }
+    if (this.idleMode != null) {
+      this.idleMode.shutdown();
+    }
+    if (this.tabListLatency != null) {
+      this.tabListLatency.shutdown();
+    }
+    if (this.metricSamplers != null) {
+      this.metricSamplers.shutdown();
+    }
+    if (this.gcMonitor != null) {
+      this.gcMonitor.shutdown();
     }
     if (this.executor != null) {
       this.executor.shutdown();
@@ -79,14 +133,21 @@ public final class TabTPS {
     this.platform.userService().flush();
   }
 
-  public synchronized void reload() {
+  public synchronized CompletableFuture<Void> reload() {
     try {
       this.configManager().load();
     } catch (final IOException e) {
       throw new IllegalStateException("Failed to reload configs", e);
     }
-    this.platform.userService().reload();
-    this.platform().onReload();
+    TickPhases.enabled(this.configManager.pluginSettings().tickPhaseTiming());
+    this.stallWatchdog.configure(this.configManager.pluginSettings().stallWatchdog());
+    this.updateRateController.reload();
+    this.tabListLatency.reload();
+    // Restarting displays walks the platform's player list, hop back to the server thread for that
+    return CompletableFuture.runAsync(() -> {
+      this.platform.userService().reload();
+      this.platform.onReload();
+    }, this.platform.mainThreadExecutor());
   }
 
   private void registerCommands() {
@@ -125,6 +186,46 @@ public final class TabTPS {
     return this.cpuMonitor;
   }
 
+  public GCMonitor gcMonitor() {
+    return this.gcMonitor;
+  }
+
+  public AllocationMonitor allocationMonitor() {
+    return this.allocationMonitor;
+  }
+
+  public NativeMemoryMonitor nativeMemoryMonitor() {
+    return this.nativeMemoryMonitor;
+  }
+
+  public PingMonitor pingMonitor() {
+    return this.pingMonitor;
+  }
+
+  public MetricSamplers metricSamplers() {
+    return this.metricSamplers;
+  }
+
+  public IdleMode idleMode() {
+    return this.idleMode;
+  }
+
+  public UpdateRateController updateRateController() {
+    return this.updateRateController;
+  }
+
+  public SharedBossBars sharedBossBars() {
+    return this.sharedBossBars;
+  }
+
+  public TickInfoWatchers tickInfoWatchers() {
+    return this.tickInfoWatchers;
+  }
+
+  public TabListLatency tabListLatency() {
+    return this.tabListLatency;
+  }
+
   public Commands commands() {
     return this.commands;
   }
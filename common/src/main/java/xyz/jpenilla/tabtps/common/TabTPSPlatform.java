@@ -24,10 +24,13 @@
 package xyz.jpenilla.tabtps.common;
 
 import java.nio.file.Path;
+import java.util.concurrent.Executor;
 import org.incendo.cloud.CommandManager;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import xyz.jpenilla.tabtps.common.command.Commander;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
 import xyz.jpenilla.tabtps.common.service.TickTimeService;
 import xyz.jpenilla.tabtps.common.service.UserService;
 
@@ -47,6 +50,25 @@ public interface TabTPSPlatform<P, U extends User<P>> {
 
   void onReload();
 
+  /**
+   * Executor for work that may only run on the server thread, such as
+   * walking the platform's player list.
+   *
+   * @return main thread executor
+   */
+  default Executor mainThreadExecutor() {
+    return Runnable::run;
+  }
+
+  /**
+   * Gets the decorator used to show pings in the tab list.
+   *
+   * @return decorator, or {@code null} if not supported by the platform
+   */
+  default TabListLatency.@Nullable Decorator tabListDecorator() {
+    return null;
+  }
+
   Logger logger();
 
   CommandManager<Commander> commandManager();
@@ -28,10 +28,13 @@ import java.util.List;
 import java.util.UUID;
 import net.kyori.adventure.text.Component;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.command.Commander;
 import xyz.jpenilla.tabtps.common.display.DisplayHandler;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
 import xyz.jpenilla.tabtps.common.display.task.ActionBarDisplayTask;
 import xyz.jpenilla.tabtps.common.display.task.BossBarDisplayTask;
+import xyz.jpenilla.tabtps.common.display.task.SidebarDisplayTask;
 import xyz.jpenilla.tabtps.common.display.task.TabDisplayTask;
 
 @NullMarked
@@ -48,6 +51,25 @@ public interface User<P> extends Commander {
 
   P base();
 
+  /**
+   * Gets the identifier of the world this user is in (i.e. {@code minecraft:overworld}),
+   * matching the keys used by {@link xyz.jpenilla.tabtps.common.service.WorldTickTimeService}.
+   *
+   * @return world identifier, or {@code null} if not supported by the platform
+   */
+  default @Nullable String world() {
+    return null;
+  }
+
+  /**
+   * Creates a view for showing a sidebar objective to this user.
+   *
+   * @return sidebar view, or {@code null} if not supported by the platform
+   */
+  default @Nullable SidebarView createSidebarView() {
+    return null;
+  }
+
   State state();
 
   default DisplayHandler<TabDisplayTask> tab() {
@@ -62,6 +84,10 @@ public interface User<P> extends Commander {
     return this.state().bossBar();
   }
 
+  default DisplayHandler<SidebarDisplayTask> sidebar() {
+    return this.state().sidebar();
+  }
+
   default List<DisplayHandler<?>> displays() {
     return this.state().displays();
   }
@@ -83,6 +109,8 @@ public interface User<P> extends Commander {
 
     DisplayHandler<BossBarDisplayTask> bossBar();
 
+    DisplayHandler<SidebarDisplayTask> sidebar();
+
     List<DisplayHandler<?>> displays();
 
     void markDirty();
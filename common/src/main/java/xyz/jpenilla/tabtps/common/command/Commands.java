@@ -24,8 +24,10 @@
 package xyz.jpenilla.tabtps.common.command;
 
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.incendo.cloud.Command;
 import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.jspecify.annotations.NullMarked;
 import xyz.jpenilla.tabtps.common.TabTPS;
 
@@ -38,6 +40,24 @@ public final class Commands {
     new ExceptionHandler(tabTPS).apply(commandManager);
   }
 
+  /**
+   * Creates the execution coordinator TabTPS command managers are built with.
+   *
+   * <p>Parsing and suggestions stay on the calling thread, as parsers like entity selectors
+   * may only touch the world from the main thread. Handlers run on the TabTPS executor instead
+   * of adding to the tick that issued them, so anything they read that the server thread
+   * mutates has to be published by it or captured on the main thread first.
+   * The executor is resolved per command, as command managers are created before {@link TabTPS}.</p>
+   *
+   * @param tabTPS TabTPS supplier
+   * @return execution coordinator
+   */
+  public static ExecutionCoordinator<Commander> executionCoordinator(final Supplier<TabTPS> tabTPS) {
+    return ExecutionCoordinator.<Commander>builder()
+      .executionSchedulingExecutor(task -> tabTPS.get().executor().execute(task))
+      .build();
+  }
+
   public CommandManager<Commander> commandManager() {
     return this.commandManager;
   }
@@ -28,7 +28,9 @@ import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
 
 @NullMarked
 public final class DelegateUser<U, C> implements User<U> {
@@ -76,6 +78,11 @@ public final class DelegateUser<U, C> implements User<U> {
     return this.user.base();
   }
 
+  @Override
+  public @Nullable SidebarView createSidebarView() {
+    return this.user.createSidebarView();
+  }
+
   @Override
   public State state() {
     return this.user.state();
@@ -23,9 +23,12 @@
  */
 package xyz.jpenilla.tabtps.common.command;
 
+import java.util.concurrent.CompletableFuture;
 import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.execution.CommandExecutionHandler;
 import org.jspecify.annotations.NullMarked;
 import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
 
 @NullMarked
 public abstract class TabTPSCommand {
@@ -40,4 +43,24 @@ public abstract class TabTPSCommand {
   }
 
   public abstract void register();
+
+  /**
+   * Wraps a handler to run on the server's main thread, like joins and quits do.
+   *
+   * <p>Handlers otherwise run on the TabTPS executor. Ones which change a user's displays
+   * would race with the user quitting, and could start a display for a player who already
+   * left. Users who left before the handler runs are skipped.</p>
+   *
+   * @param handler handler
+   * @param <C>     sender type
+   * @return handler running on the main thread
+   */
+  protected final <C> CommandExecutionHandler.FutureCommandExecutionHandler<C> onMainThread(final CommandExecutionHandler<C> handler) {
+    return context -> CompletableFuture.runAsync(() -> {
+      if (context.sender() instanceof User && !((User<?>) context.sender()).online()) {
+        return;
+      }
+      handler.execute(context);
+    }, this.tabTPS.platform().mainThreadExecutor());
+  }
 }
@@ -0,0 +1,232 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.command.commands;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.feature.pagination.Pagination;
+import org.incendo.cloud.component.DefaultValue;
+import org.incendo.cloud.context.CommandContext;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.Messages;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.command.Commander;
+import xyz.jpenilla.tabtps.common.command.Commands;
+import xyz.jpenilla.tabtps.common.command.TabTPSCommand;
+import xyz.jpenilla.tabtps.common.command.exception.CommandCompletedException;
+import xyz.jpenilla.tabtps.common.util.Components;
+import xyz.jpenilla.tabtps.common.util.Constants;
+import xyz.jpenilla.tabtps.common.util.HotspotSampler;
+import xyz.jpenilla.tabtps.common.util.TPSUtil;
+import xyz.jpenilla.tabtps.common.util.TranslatableProvider;
+
+import static net.kyori.adventure.text.Component.empty;
+import static net.kyori.adventure.text.Component.space;
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.GREEN;
+import static net.kyori.adventure.text.format.NamedTextColor.RED;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
+import static net.kyori.adventure.text.format.Style.style;
+import static net.kyori.adventure.text.format.TextColor.color;
+import static net.kyori.adventure.text.format.TextDecoration.STRIKETHROUGH;
+import static org.incendo.cloud.minecraft.extras.RichDescription.richDescription;
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
+
+/**
+ * Starts {@link HotspotSampler} sessions and displays their reports. Only registered on
+ * platforms which record entity and block entity ticks.
+ */
+@NullMarked
+public final class HotspotCommand extends TabTPSCommand {
+  private static final String CHUNKS_COMMAND = "tickinfo hotspots chunks";
+  private static final String TYPES_COMMAND = "tickinfo hotspots types";
+
+  private final IntFunction<String> entityTypeNames;
+  private final IntFunction<String> blockEntityTypeNames;
+
+  public HotspotCommand(
+    final TabTPS tabTPS,
+    final Commands commands,
+    final IntFunction<String> entityTypeNames,
+    final IntFunction<String> blockEntityTypeNames
+  ) {
+    super(tabTPS, commands);
+    this.entityTypeNames = entityTypeNames;
+    this.blockEntityTypeNames = blockEntityTypeNames;
+  }
+
+  @Override
+  public void register() {
+    this.commands.register(this.commandManager.commandBuilder("tickinfo", "mspt", "tps")
+      .literal("hotspots")
+      .literal("start")
+      .optional("seconds", integerParser(5, 300), DefaultValue.constant(30), richDescription(Messages.COMMAND_TICKINFO_HOTSPOTS_START_ARGUMENTS_SECONDS))
+      .permission(Constants.PERMISSION_COMMAND_HOTSPOTS)
+      .commandDescription(richDescription(Messages.COMMAND_TICKINFO_HOTSPOTS_START_DESCRIPTION.plain()))
+      .handler(this::executeStart));
+    this.commands.register(this.commandManager.commandBuilder("tickinfo", "mspt", "tps")
+      .literal("hotspots")
+      .literal("chunks")
+      .optional("page", integerParser(1, 999), DefaultValue.constant(1), richDescription(Messages.COMMAND_TICKINFO_HOTSPOTS_ARGUMENTS_PAGE))
+      .permission(Constants.PERMISSION_COMMAND_HOTSPOTS)
+      .commandDescription(richDescription(Messages.COMMAND_TICKINFO_HOTSPOTS_CHUNKS_DESCRIPTION.plain()))
+      .handler(this::executeChunks));
+    this.commands.register(this.commandManager.commandBuilder("tickinfo", "mspt", "tps")
+      .literal("hotspots")
+      .literal("types")
+      .optional("page", integerParser(1, 999), DefaultValue.constant(1), richDescription(Messages.COMMAND_TICKINFO_HOTSPOTS_ARGUMENTS_PAGE))
+      .permission(Constants.PERMISSION_COMMAND_HOTSPOTS)
+      .commandDescription(richDescription(Messages.COMMAND_TICKINFO_HOTSPOTS_TYPES_DESCRIPTION.plain()))
+      .handler(this::executeTypes));
+  }
+
+  private void executeStart(final CommandContext<Commander> ctx) {
+    final int seconds = ctx.get("seconds");
+    if (!HotspotSampler.start(Duration.ofSeconds(seconds), this.tabTPS.executor(), this.entityTypeNames, this.blockEntityTypeNames)) {
+      final HotspotSampler running = HotspotSampler.active();
+      final long remaining = running == null ? 0L : running.remaining().getSeconds();
+      throw CommandCompletedException.withMessage(Components.ofChildren(
+        Constants.PREFIX,
+        space(),
+        Messages.COMMAND_TICKINFO_TEXT_HOTSPOTS_RUNNING.styled(RED, text(remaining))
+      ));
+    }
+    ctx.sender().sendMessage(Components.ofChildren(
+      Constants.PREFIX,
+      space(),
+      Messages.COMMAND_TICKINFO_TEXT_HOTSPOTS_STARTED.styled(
+        GRAY,
+        text(seconds, GREEN),
+        commandLink(CHUNKS_COMMAND),
+        commandLink(TYPES_COMMAND)
+      )
+    ));
+  }
+
+  private void executeChunks(final CommandContext<Commander> ctx) {
+    final HotspotSampler.Report report = requireReport();
+    final List<Component> content = new ArrayList<>();
+    for (final HotspotSampler.ChunkHotspot chunk : report.chunks()) {
+      content.add(Components.ofChildren(
+        space(),
+        text("-", GRAY),
+        space(),
+        text(chunk.world(), GRAY),
+        space(),
+        text(chunk.x() + ", " + chunk.z(), WHITE),
+        text(":", GRAY),
+        space(),
+        milliseconds(chunk.nanos())
+      ).hoverEvent(Messages.COMMAND_TICKINFO_TEXT_HOTSPOTS_CHUNK_HOVER.styled(GRAY, milliseconds(chunk.error()))));
+    }
+    this.sendReport(ctx, report, Messages.COMMAND_TICKINFO_TEXT_HOTSPOTS_CHUNKS_HEADER, CHUNKS_COMMAND, content);
+  }
+
+  private void executeTypes(final CommandContext<Commander> ctx) {
+    final HotspotSampler.Report report = requireReport();
+    final List<Component> content = new ArrayList<>();
+    for (final HotspotSampler.TypeHotspot type : report.types()) {
+      content.add(Components.ofChildren(
+        space(),
+        text("-", GRAY),
+        space(),
+        text(type.type(), WHITE),
+        space(),
+        text("(" + type.kind().displayName() + ")", GRAY),
+        text(":", GRAY),
+        space(),
+        milliseconds(type.nanos()),
+        text(", ", WHITE),
+        text(type.ticks() + " ticks", GRAY)
+      ));
+    }
+    this.sendReport(ctx, report, Messages.COMMAND_TICKINFO_TEXT_HOTSPOTS_TYPES_HEADER, TYPES_COMMAND, content);
+  }
+
+  private void sendReport(
+    final CommandContext<Commander> ctx,
+    final HotspotSampler.Report report,
+    final TranslatableProvider header,
+    final String command,
+    final List<Component> content
+  ) {
+    final int page = ctx.get("page");
+    final List<Component> messages = new ArrayList<>();
+    messages.add(empty());
+    messages.addAll(pagination(header, command).render(content, page));
+    messages.add(empty());
+    messages.add(Messages.COMMAND_TICKINFO_TEXT_HOTSPOTS_SUMMARY.styled(
+      GRAY,
+      text(report.duration().getSeconds(), WHITE),
+      milliseconds(report.entityNanos()),
+      milliseconds(report.blockEntityNanos())
+    ));
+    messages.forEach(ctx.sender()::sendMessage);
+  }
+
+  private static HotspotSampler.Report requireReport() {
+    final HotspotSampler.Report report = HotspotSampler.lastReport();
+    if (report == null) {
+      throw CommandCompletedException.withMessage(Components.ofChildren(
+        Constants.PREFIX,
+        space(),
+        Messages.COMMAND_TICKINFO_TEXT_HOTSPOTS_NONE.styled(RED, commandLink("tickinfo hotspots start"))
+      ));
+    }
+    return report;
+  }
+
+  private static Component milliseconds(final long nanos) {
+    return Components.ofChildren(
+      text(String.format("%.2f", TPSUtil.toMilliseconds(nanos)), GREEN),
+      Messages.LABEL_MILLISECONDS_SHORT.styled(GRAY)
+    );
+  }
+
+  private static Component commandLink(final String command) {
+    return text("/" + command, WHITE).clickEvent(ClickEvent.runCommand("/" + command));
+  }
+
+  private static Pagination<Component> pagination(final TranslatableProvider header, final String command) {
+    return Pagination.builder()
+      .resultsPerPage(10)
+      .width(38)
+      .line(line -> line.character('-').style(style(color(0x47C8FF), STRIKETHROUGH)))
+      .build(
+        Components.ofChildren(
+          Constants.PREFIX,
+          space(),
+          header
+        ),
+        (value, index) -> Collections.singleton(value),
+        page -> String.format("/%s %d", command, page)
+      );
+  }
+}
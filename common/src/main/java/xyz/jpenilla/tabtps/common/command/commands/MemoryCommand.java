@@ -23,31 +23,67 @@
  */
 package xyz.jpenilla.tabtps.common.command.commands;
 
+import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryPoolMXBean;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.feature.pagination.Pagination;
+import org.incendo.cloud.component.DefaultValue;
 import org.incendo.cloud.context.CommandContext;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.Messages;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.command.Commander;
 import xyz.jpenilla.tabtps.common.command.Commands;
 import xyz.jpenilla.tabtps.common.command.TabTPSCommand;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.AllocationMonitor;
 import xyz.jpenilla.tabtps.common.util.Components;
 import xyz.jpenilla.tabtps.common.util.Constants;
+import xyz.jpenilla.tabtps.common.util.GCMonitor;
 import xyz.jpenilla.tabtps.common.util.MemoryUtil;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.NativeMemoryMonitor;
+import xyz.jpenilla.tabtps.common.util.TPSUtil;
 
 import static net.kyori.adventure.text.Component.empty;
 import static net.kyori.adventure.text.Component.space;
+import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
+import static net.kyori.adventure.text.format.Style.style;
+import static net.kyori.adventure.text.format.TextColor.color;
 import static net.kyori.adventure.text.format.TextDecoration.ITALIC;
+import static net.kyori.adventure.text.format.TextDecoration.STRIKETHROUGH;
 import static org.incendo.cloud.minecraft.extras.RichDescription.richDescription;
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
 
 @NullMarked
 public final class MemoryCommand extends TabTPSCommand {
+  private static final int RECENT_PAUSES = 5;
+  private static final int NMT_CATEGORIES = 6;
+  private static final Pagination<Supplier<Component>> PAGINATION = Pagination.builder()
+    .resultsPerPage(10)
+    .width(38)
+    .line(line -> line.character('-').style(style(color(0x47C8FF), STRIKETHROUGH)))
+    .build(
+      Components.ofChildren(
+        Constants.PREFIX,
+        space(),
+        Messages.COMMAND_MEMORY_TEXT_HEADER
+      ),
+      (row, index) -> Collections.singleton(row.get()),
+      page -> String.format("/memory %d", page)
+    );
+
   public MemoryCommand(final TabTPS tabTPS, final Commands commands) {
     super(tabTPS, commands);
   }
@@ -55,31 +91,202 @@ public final class MemoryCommand extends TabTPSCommand {
   @Override
   public void register() {
     this.commands.register(this.commandManager.commandBuilder("memory", "mem", "ram")
+      .optional("page", integerParser(1, 999), DefaultValue.constant(1), richDescription(Messages.COMMAND_MEMORY_ARGUMENTS_PAGE))
       .permission(Constants.PERMISSION_COMMAND_TICKINFO)
       .commandDescription(richDescription(Messages.COMMAND_MEMORY_DESCRIPTION.plain()))
       .handler(this::executeMemory));
+    this.commands.register(this.commandManager.commandBuilder("memory", "mem", "ram")
+      .literal("gc")
+      .permission(Constants.PERMISSION_COMMAND_TICKINFO)
+      .commandDescription(richDescription(Messages.COMMAND_MEMORY_GC_DESCRIPTION.plain()))
+      .handler(this::executeGC));
   }
 
   private void executeMemory(final CommandContext<Commander> ctx) {
+    final int page = ctx.get("page");
+    final Set<String> ignoredPools = this.tabTPS.configManager().pluginSettings().ignoredMemoryPools();
+    // Rows are only rendered for the requested page
+    final List<Supplier<Component>> rows = new ArrayList<>();
+    if (!ignoredPools.contains("Heap Memory Usage")) {
+      rows.add(() -> MemoryUtil.renderBar("Heap Memory Usage", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage(), 60));
+    }
+    if (!ignoredPools.contains("Non-Heap Memory Usage")) {
+      rows.add(() -> MemoryUtil.renderBar("Non-Heap Memory Usage", ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage(), 60));
+    }
+    ManagementFactory.getMemoryPoolMXBeans().stream()
+      .filter(bean -> bean != null && !ignoredPools.contains(bean.getName()))
+      .sorted(Comparator.comparing(MemoryPoolMXBean::getName))
+      .forEach(bean -> rows.add(() -> MemoryUtil.renderBar(bean.getName(), bean.getUsage(), 60)));
+    if (this.tabTPS.allocationMonitor().supported()) {
+      rows.add(this.tabTPS.metricSamplers().burst(Metric.ALLOCATION) ? this::renderAllocationRate : MemoryCommand::renderSampling);
+    }
+    this.addOffHeapRows(rows);
+
     final List<Component> messages = new ArrayList<>();
     messages.add(empty());
-    final Component header = Components.ofChildren(
-      Constants.PREFIX,
+    messages.addAll(PAGINATION.render(rows, page));
+    messages.forEach(ctx.sender()::sendMessage);
+  }
+
+  private void addOffHeapRows(final List<Supplier<Component>> rows) {
+    final boolean sampling = this.tabTPS.metricSamplers().burst(Metric.NATIVE_MEMORY);
+    final NativeMemoryMonitor.Snapshot snapshot = this.tabTPS.nativeMemoryMonitor().snapshot();
+    rows.add(() -> Components.ofChildren(
+      space(),
+      Messages.COMMAND_MEMORY_TEXT_OFF_HEAP_HEADER.styled(GRAY, ITALIC)
+    ));
+    if (!sampling) {
+      rows.add(MemoryCommand::renderSampling);
+      return;
+    }
+    for (final NativeMemoryMonitor.BufferPool pool : snapshot.bufferPools()) {
+      rows.add(() -> Components.ofChildren(
+        space(),
+        Messages.COMMAND_MEMORY_TEXT_BUFFER_POOL.styled(
+          GRAY,
+          text(pool.name(), WHITE),
+          MemoryUtil.humanReadableByteCountBin(pool.usedBytes()),
+          text(pool.count(), WHITE),
+          MemoryUtil.humanReadableByteCountBin(pool.capacityBytes())
+        )
+      ));
+    }
+    if (snapshot.rssBytes() >= 0) {
+      rows.add(() -> Components.ofChildren(
+        space(),
+        Messages.COMMAND_MEMORY_TEXT_RSS.styled(GRAY, MemoryUtil.humanReadableByteCountBin(snapshot.rssBytes()))
+      ).hoverEvent(Messages.COMMAND_MEMORY_TEXT_RSS_HOVER.styled(GRAY)));
+    }
+    final NativeMemoryMonitor.@Nullable NativeMemorySummary nmt = snapshot.nativeMemory();
+    if (nmt != null) {
+      rows.add(() -> Components.ofChildren(
+        space(),
+        Messages.COMMAND_MEMORY_TEXT_NMT_TOTAL.styled(
+          GRAY,
+          MemoryUtil.humanReadableByteCountBin(nmt.committedBytes()),
+          MemoryUtil.humanReadableByteCountBin(nmt.reservedBytes())
+        )
+      ));
+      final int shown = Math.min(NMT_CATEGORIES, nmt.categories().size());
+      for (int i = 0; i < shown; i++) {
+        final NativeMemoryMonitor.NativeMemoryCategory category = nmt.categories().get(i);
+        final String branch = i == shown - 1 ? "└─" : "├─";
+        rows.add(() -> Components.ofChildren(
+          space(),
+          text(branch, WHITE),
+          space(),
+          Messages.COMMAND_MEMORY_TEXT_NMT_CATEGORY.styled(
+            GRAY,
+            text(category.name(), WHITE),
+            MemoryUtil.humanReadableByteCountBin(category.committedBytes())
+          )
+        ));
+      }
+    }
+  }
+
+  private static Component renderSampling() {
+    return Components.ofChildren(
       space(),
-      Messages.COMMAND_MEMORY_TEXT_HEADER.styled(GRAY, ITALIC)
+      Messages.COMMAND_MEMORY_TEXT_SAMPLING.styled(GRAY, ITALIC)
     );
-    messages.add(header);
-    if (!this.tabTPS.configManager().pluginSettings().ignoredMemoryPools().contains("Heap Memory Usage")) {
-      messages.add(MemoryUtil.renderBar("Heap Memory Usage", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage(), 60));
+  }
+
+  private Component renderAllocationRate() {
+    final AllocationMonitor.Snapshot snapshot = this.tabTPS.allocationMonitor().snapshot();
+    final Component serverThread = snapshot.serverThreadBytesPerSecond() < 0
+      ? text("?", WHITE)
+      : megabytesPerSecond(snapshot.serverThreadBytesPerSecond());
+    return Components.ofChildren(
+      space(),
+      Messages.COMMAND_MEMORY_TEXT_ALLOCATION_RATE.styled(GRAY, megabytesPerSecond(snapshot.bytesPerSecond()), serverThread)
+    ).hoverEvent(Messages.COMMAND_MEMORY_TEXT_ALLOCATION_RATE_HOVER.styled(GRAY));
+  }
+
+  private static Component megabytesPerSecond(final double bytes) {
+    return Components.ofChildren(
+      text(String.format("%.1f", bytes / (1024.0D * 1024.0D)), WHITE),
+      Messages.LABEL_MEGABYTES_PER_SECOND_SHORT.styled(GRAY)
+    );
+  }
+
+  private void executeGC(final CommandContext<Commander> ctx) {
+    final GCMonitor monitor = this.tabTPS.gcMonitor();
+    final Theme.Colors colors = Theme.DEFAULT.colorScheme();
+    final List<Component> messages = new ArrayList<>();
+    messages.add(empty());
+    messages.add(Components.ofChildren(
+      Constants.PREFIX,
+      space(),
+      Messages.COMMAND_MEMORY_TEXT_GC_HEADER.styled(GRAY, ITALIC)
+    ));
+    for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      messages.add(Components.ofChildren(
+        space(),
+        Messages.COMMAND_MEMORY_TEXT_GC_COLLECTOR.styled(
+          GRAY,
+          text(bean.getName(), WHITE),
+          text(bean.getCollectionCount(), WHITE),
+          milliseconds(TimeUnit.MILLISECONDS.toNanos(bean.getCollectionTime()), colors)
+        )
+      ));
     }
-    if (!this.tabTPS.configManager().pluginSettings().ignoredMemoryPools().contains("Non-Heap Memory Usage")) {
-      messages.add(MemoryUtil.renderBar("Non-Heap Memory Usage", ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage(), 60));
+
+    final GCMonitor.Summary summary = monitor.summary(TimeUnit.MINUTES.toNanos(1));
+    messages.add(Components.ofChildren(
+      space(),
+      Messages.COMMAND_MEMORY_TEXT_GC_LAST_MINUTE.styled(
+        GRAY,
+        text(summary.count(), WHITE),
+        milliseconds(summary.totalNanos(), colors),
+        milliseconds(summary.maxNanos(), colors),
+        MemoryUtil.humanReadableByteCountBin(summary.reclaimedBytes())
+      )
+    ));
+    if (monitor.tickHistory()) {
+      final GCMonitor.SlowTicks slowTicks = monitor.slowTicks();
+      messages.add(Components.ofChildren(
+        space(),
+        Messages.COMMAND_MEMORY_TEXT_GC_SLOW_TICKS.styled(
+          GRAY,
+          text(GCMonitor.SLOW_TICK_HISTORY, WHITE),
+          text(slowTicks.count(), WHITE),
+          text(slowTicks.overlappingGC(), WHITE)
+        )
+      ).hoverEvent(Messages.COMMAND_MEMORY_TEXT_GC_SLOW_TICKS_HOVER.styled(GRAY)));
+    }
+
+    final List<GCMonitor.Pause> pauses = monitor.pauses();
+    if (pauses.isEmpty()) {
+      messages.add(Components.ofChildren(space(), Messages.COMMAND_MEMORY_TEXT_GC_NONE.styled(GRAY, ITALIC)));
+    } else {
+      messages.add(Components.ofChildren(space(), Messages.COMMAND_MEMORY_TEXT_GC_RECENT.styled(GRAY, ITALIC)));
+      final long now = System.nanoTime();
+      final int shown = Math.min(RECENT_PAUSES, pauses.size());
+      for (int i = 0; i < shown; i++) {
+        final GCMonitor.Pause pause = pauses.get(i);
+        messages.add(Components.ofChildren(
+          space(),
+          text(i == shown - 1 ? "└─" : "├─", WHITE),
+          space(),
+          Messages.COMMAND_MEMORY_TEXT_GC_PAUSE.styled(
+            GRAY,
+            text(pause.collector(), WHITE),
+            text(pause.cause(), GRAY),
+            milliseconds(pause.durationNanos(), colors),
+            MemoryUtil.humanReadableByteCountBin(pause.reclaimedBytes()),
+            text(TimeUnit.NANOSECONDS.toSeconds(now - pause.startNanos()), WHITE)
+          )
+        ));
+      }
     }
-    ManagementFactory.getMemoryPoolMXBeans().stream()
-      .filter(bean -> bean != null && !this.tabTPS.configManager().pluginSettings().ignoredMemoryPools().contains(bean.getName()))
-      .sorted(Comparator.comparing(MemoryPoolMXBean::getName))
-      .map(bean -> MemoryUtil.renderBar(bean.getName(), bean.getUsage(), 60))
-      .forEach(messages::add);
     messages.forEach(ctx.sender()::sendMessage);
   }
+
+  private static Component milliseconds(final long nanos, final Theme.Colors colors) {
+    return Components.ofChildren(
+      TPSUtil.coloredMspt(TPSUtil.toMilliseconds(nanos), colors),
+      Messages.LABEL_MILLISECONDS_SHORT.styled(GRAY)
+    );
+  }
 }
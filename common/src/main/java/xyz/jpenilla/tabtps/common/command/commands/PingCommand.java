@@ -23,11 +23,12 @@
  */
 package xyz.jpenilla.tabtps.common.command.commands;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.RandomAccess;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.feature.pagination.Pagination;
 import org.incendo.cloud.component.DefaultValue;
@@ -35,6 +36,7 @@ import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.execution.CommandExecutionHandler;
 import org.incendo.cloud.parser.ParserDescriptor;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.Messages;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.User;
@@ -45,7 +47,10 @@ import xyz.jpenilla.tabtps.common.command.exception.CommandCompletedException;
 import xyz.jpenilla.tabtps.common.config.Theme;
 import xyz.jpenilla.tabtps.common.util.Components;
 import xyz.jpenilla.tabtps.common.util.Constants;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.PingMonitor;
 import xyz.jpenilla.tabtps.common.util.PingUtil;
+import xyz.jpenilla.tabtps.common.util.Selection;
 import xyz.jpenilla.tabtps.common.util.TranslatableProvider;
 
 import static net.kyori.adventure.text.Component.empty;
@@ -63,6 +68,8 @@ import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
 
 @NullMarked
 public class PingCommand extends TabTPSCommand {
+  private static final int RESULTS_PER_PAGE = 10;
+
   public PingCommand(final TabTPS tabTPS, final Commands commands) {
     super(tabTPS, commands);
   }
@@ -112,13 +119,7 @@ public class PingCommand extends TabTPSCommand {
     player.sendMessage(text()
       .append(Constants.PREFIX)
       .append(space())
-      .append(Messages.COMMAND_PING_SELF_TEXT_YOUR_PING.styled(
-        GRAY,
-        Components.ofChildren(
-          PingUtil.coloredPing(player, Theme.DEFAULT.colorScheme()),
-          Messages.LABEL_MILLISECONDS_SHORT.styled(Theme.DEFAULT.colorScheme().textSecondary())
-        )
-      )));
+      .append(Messages.COMMAND_PING_SELF_TEXT_YOUR_PING.styled(GRAY, this.pingWithStats(player))));
   }
 
   protected final void pingTargets(
@@ -145,35 +146,60 @@ public class PingCommand extends TabTPSCommand {
       .append(Messages.COMMAND_PING_TARGET_TEXT_TARGETS_PING.styled(
         GRAY,
         targetPlayer.displayName(),
-        Components.ofChildren(
-          PingUtil.coloredPing(targetPlayer, Theme.DEFAULT.colorScheme()),
-          Messages.LABEL_MILLISECONDS_SHORT.styled(Theme.DEFAULT.colorScheme().textSecondary())
-        )
+        this.pingWithStats(targetPlayer)
       )));
   }
 
+  /**
+   * Renders a user's latest ping, with their sampled history on hover once there is one.
+   *
+   * @param user user
+   * @return ping component
+   */
+  private Component pingWithStats(final User<?> user) {
+    this.tabTPS.metricSamplers().burst(Metric.PING);
+    final PingMonitor monitor = this.tabTPS.pingMonitor();
+    final Component ping = Components.ofChildren(
+      PingUtil.coloredPing(monitor.current(user), Theme.DEFAULT.colorScheme()),
+      Messages.LABEL_MILLISECONDS_SHORT.styled(Theme.DEFAULT.colorScheme().textSecondary())
+    );
+    final PingMonitor.@Nullable Stats stats = monitor.stats(user);
+    if (stats == null) {
+      return ping;
+    }
+    return ping.hoverEvent(Messages.COMMAND_PING_TEXT_STATS_HOVER.styled(
+      GRAY,
+      text(stats.samples(), WHITE),
+      text(Math.round(stats.average()), WHITE),
+      text(stats.p95(), WHITE),
+      text(Math.round(stats.jitter()), WHITE)
+    ));
+  }
+
   private void pingMultiple(
     final Commander sender,
     final Collection<User<?>> targets,
     final int page,
     final String commandPrefix
   ) {
-    final List<Component> content = new ArrayList<>();
-    final List<Integer> pings = new ArrayList<>();
-    targets.stream().sorted(Comparator.comparing(User::ping)).forEach(player -> {
-      content.add(Components.ofChildren(
-        space(),
-        text("-", GRAY),
-        space(),
-        player.displayName(),
-        text(":", GRAY),
-        space(),
-        PingUtil.coloredPing(player, Theme.DEFAULT.colorScheme()),
-        Messages.LABEL_MILLISECONDS_SHORT.styled(GRAY)
-      ));
-      pings.add(player.ping());
-    });
-    final int avgPing = (int) Math.round(pings.stream().mapToInt(i -> i).average().orElse(0));
+    this.tabTPS.metricSamplers().burst(Metric.PING);
+    final PingMonitor monitor = this.tabTPS.pingMonitor();
+
+    // Read each ping once, packed with the user's index so sorting needs no boxing or comparator
+    final User<?>[] users = targets.toArray(new User<?>[0]);
+    final long[] entries = new long[users.length];
+    long totalPing = 0L;
+    for (int i = 0; i < users.length; i++) {
+      final int ping = monitor.current(users[i]);
+      totalPing += ping;
+      entries[i] = (long) ping << 32 | i;
+    }
+    // Only the requested page needs to be in order, and only its rows are rendered
+    final int from = Math.min(entries.length, (page - 1) * RESULTS_PER_PAGE);
+    final int to = Math.min(entries.length, from + RESULTS_PER_PAGE);
+    Selection.sortRange(entries, from, to);
+
+    final int avgPing = users.length == 0 ? 0 : (int) Math.round((double) totalPing / users.length);
     final TranslatableProvider playerAmountTranslatable = targets.size() == 1
       ? Messages.COMMAND_PING_TEXT_AMOUNT_PLAYERS_SINGULAR
       : Messages.COMMAND_PING_TEXT_AMOUNT_PLAYERS;
@@ -192,15 +218,15 @@ public class PingCommand extends TabTPSCommand {
     );
     final List<Component> messages = new ArrayList<>();
     messages.add(empty());
-    messages.addAll(pagination(commandPrefix).render(content, page));
+    messages.addAll(pagination(commandPrefix, users, entries).render(new RowIndices(entries.length), page));
     messages.add(empty());
     messages.add(summary);
     messages.forEach(sender::sendMessage);
   }
 
-  private static Pagination<Component> pagination(final String prefix) {
+  private static Pagination<Integer> pagination(final String prefix, final User<?>[] users, final long[] entries) {
     return Pagination.builder()
-      .resultsPerPage(10)
+      .resultsPerPage(RESULTS_PER_PAGE)
       .width(38)
       .line(line -> line.character('-').style(style(color(0x47C8FF), STRIKETHROUGH)))
       .build(
@@ -209,8 +235,46 @@ public class PingCommand extends TabTPSCommand {
           space(),
           Messages.COMMAND_PING_TEXT_PLAYER_PINGS
         ),
-        (value, index) -> Collections.singleton(value),
+        (row, index) -> Collections.singleton(renderRow(users[(int) entries[row]], (int) (entries[row] >> 32))),
         page -> String.format("/%s %d", prefix, page)
       );
   }
+
+  private static Component renderRow(final User<?> user, final int ping) {
+    return Components.ofChildren(
+      space(),
+      text("-", GRAY),
+      space(),
+      user.displayName(),
+      text(":", GRAY),
+      space(),
+      PingUtil.coloredPing(ping, Theme.DEFAULT.colorScheme()),
+      Messages.LABEL_MILLISECONDS_SHORT.styled(GRAY)
+    );
+  }
+
+  /**
+   * The row indices {@code 0..size-1}, without storing them. Pagination only reads the
+   * indices of the requested page.
+   */
+  private static final class RowIndices extends AbstractList<Integer> implements RandomAccess {
+    private final int size;
+
+    RowIndices(final int size) {
+      this.size = size;
+    }
+
+    @Override
+    public Integer get(final int index) {
+      if (index < 0 || index >= this.size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+      }
+      return index;
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+  }
 }
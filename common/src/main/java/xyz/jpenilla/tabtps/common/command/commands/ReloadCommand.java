@@ -23,6 +23,7 @@
  */
 package xyz.jpenilla.tabtps.common.command.commands;
 
+import java.util.concurrent.CompletableFuture;
 import org.incendo.cloud.context.CommandContext;
 import org.jspecify.annotations.NullMarked;
 import xyz.jpenilla.tabtps.common.Messages;
@@ -50,14 +51,13 @@ public final class ReloadCommand extends TabTPSCommand {
     this.commands.registerSubcommand(builder -> builder.literal("reload")
       .permission(Constants.PERMISSION_COMMAND_RELOAD)
       .commandDescription(richDescription(Messages.COMMAND_RELOAD_DESCRIPTION.plain()))
-      .handler(this::executeReload));
+      .futureHandler(this::executeReload));
   }
 
-  private void executeReload(final CommandContext<Commander> ctx) {
-    this.tabTPS.reload();
-    ctx.sender().sendMessage(Components.ofChildren(
+  private CompletableFuture<Void> executeReload(final CommandContext<Commander> ctx) {
+    return this.tabTPS.reload().thenRun(() -> ctx.sender().sendMessage(Components.ofChildren(
       Constants.PREFIX,
       gradient(" Reload complete.", style -> style.decorate(ITALIC), GREEN, DARK_GREEN)
-    ));
+    )));
   }
 }
@@ -28,33 +28,48 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.function.Function;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.TextColor;
 import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.type.tuple.Pair;
 import org.jspecify.annotations.NullMarked;
 import xyz.jpenilla.tabtps.common.Messages;
 import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
 import xyz.jpenilla.tabtps.common.command.Commander;
 import xyz.jpenilla.tabtps.common.command.Commands;
 import xyz.jpenilla.tabtps.common.command.TabTPSCommand;
 import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.display.TickInfoWatchers;
 import xyz.jpenilla.tabtps.common.module.MemoryModule;
 import xyz.jpenilla.tabtps.common.module.Module;
 import xyz.jpenilla.tabtps.common.module.ModuleRenderer;
+import xyz.jpenilla.tabtps.common.service.TickPhaseService;
+import xyz.jpenilla.tabtps.common.service.TickTimeService;
+import xyz.jpenilla.tabtps.common.service.WorldTickTimeService;
 import xyz.jpenilla.tabtps.common.util.Components;
 import xyz.jpenilla.tabtps.common.util.Constants;
 import xyz.jpenilla.tabtps.common.util.MemoryUtil;
+import xyz.jpenilla.tabtps.common.util.Metric;
 import xyz.jpenilla.tabtps.common.util.TPSUtil;
+import xyz.jpenilla.tabtps.common.util.TickPhases;
+import xyz.jpenilla.tabtps.common.util.TranslatableProvider;
 
 import static net.kyori.adventure.text.Component.empty;
 import static net.kyori.adventure.text.Component.newline;
 import static net.kyori.adventure.text.Component.space;
 import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.event.ClickEvent.runCommand;
 import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.GREEN;
+import static net.kyori.adventure.text.format.NamedTextColor.RED;
 import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
 import static net.kyori.adventure.text.format.TextDecoration.ITALIC;
 import static org.incendo.cloud.minecraft.extras.RichDescription.richDescription;
@@ -80,6 +95,30 @@ public final class TickInfoCommand extends TabTPSCommand {
       .permission(Constants.PERMISSION_COMMAND_TICKINFO)
       .commandDescription(richDescription(Messages.COMMAND_TICKINFO_DESCRIPTION.plain()))
       .handler(this::executeTickInfo));
+    this.commands.register(this.commandManager.commandBuilder("tickinfo", "mspt", "tps")
+      .literal("worlds")
+      .permission(Constants.PERMISSION_COMMAND_TICKINFO)
+      .commandDescription(richDescription(Messages.COMMAND_TICKINFO_WORLDS_DESCRIPTION.plain()))
+      .handler(this::executeWorlds));
+    this.commands.register(this.commandManager.commandBuilder("tickinfo", "mspt", "tps")
+      .literal("phases")
+      .permission(Constants.PERMISSION_COMMAND_TICKINFO)
+      .commandDescription(richDescription(Messages.COMMAND_TICKINFO_PHASES_DESCRIPTION.plain()))
+      .handler(this::executePhases));
+    this.commands.register(this.commandManager.commandBuilder("tickinfo", "mspt", "tps")
+      .literal("watch")
+      .literal("actionbar")
+      .senderType(User.TYPE)
+      .permission(Constants.PERMISSION_COMMAND_TICKINFO)
+      .commandDescription(richDescription(Messages.COMMAND_TICKINFO_WATCH_ACTIONBAR_DESCRIPTION.plain()))
+      .handler(this.onMainThread(ctx -> this.toggleWatch(ctx, TickInfoWatchers.Target.ACTION_BAR, "/tickinfo watch actionbar"))));
+    this.commands.register(this.commandManager.commandBuilder("tickinfo", "mspt", "tps")
+      .literal("watch")
+      .literal("bossbar")
+      .senderType(User.TYPE)
+      .permission(Constants.PERMISSION_COMMAND_TICKINFO)
+      .commandDescription(richDescription(Messages.COMMAND_TICKINFO_WATCH_BOSSBAR_DESCRIPTION.plain()))
+      .handler(this.onMainThread(ctx -> this.toggleWatch(ctx, TickInfoWatchers.Target.BOSS_BAR, "/tickinfo watch bossbar"))));
   }
 
   public static TickInfoCommand defaultFormatter(final TabTPS tabTPS, final Commands commands) {
@@ -100,14 +139,155 @@ public final class TickInfoCommand extends TabTPSCommand {
     ));
     messages.add(this.formatTPS());
     messages.addAll(this.formatter.formatTickTimes());
-    messages.add(this.cpuRenderer.render().hoverEvent(
-      Messages.COMMAND_TICKINFO_TEXT_CPU_HOVER.styled(GRAY)
-    ));
+    boolean sampled = true;
+    for (final Metric metric : this.cpuRenderer.metrics()) {
+      sampled &= this.tabTPS.metricSamplers().burst(metric);
+    }
+    if (sampled) {
+      messages.add(this.cpuRenderer.render().hoverEvent(
+        Messages.COMMAND_TICKINFO_TEXT_CPU_HOVER.styled(GRAY)
+      ));
+    } else {
+      // A sampler that just started has no load average yet
+      messages.add(Components.ofChildren(
+        space(),
+        Messages.COMMAND_TICKINFO_TEXT_CPU_SAMPLING.styled(GRAY, ITALIC)
+      ));
+    }
     messages.add(this.renderMemory());
     messages.add(MemoryUtil.renderBar(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage(), 91));
     messages.forEach(ctx.sender()::sendMessage);
   }
 
+  private void toggleWatch(final CommandContext<User<?>> ctx, final TickInfoWatchers.Target target, final String command) {
+    final User<?> user = ctx.sender();
+    final TickInfoWatchers watchers = this.tabTPS.tickInfoWatchers();
+    final TranslatableProvider message;
+    final TextColor color;
+    if (watchers.target(user) == target) {
+      watchers.unwatch(user);
+      message = Messages.COMMAND_TICKINFO_TEXT_WATCH_STOPPED;
+      color = RED;
+    } else {
+      watchers.watch(user, target);
+      message = target == TickInfoWatchers.Target.BOSS_BAR
+        ? Messages.COMMAND_TICKINFO_TEXT_WATCH_BOSSBAR
+        : Messages.COMMAND_TICKINFO_TEXT_WATCH_ACTIONBAR;
+      color = GREEN;
+    }
+    user.sendMessage(Components.ofChildren(
+      Constants.PREFIX,
+      space(),
+      message.build(tr -> {
+        tr.color(color);
+        tr.decorate(ITALIC);
+        tr.hoverEvent(Messages.MISC_TEXT_CLICK_TO_TOGGLE.styled(GREEN));
+        tr.clickEvent(runCommand(command));
+      })
+    ));
+  }
+
+  private void executeWorlds(final CommandContext<Commander> ctx) {
+    final TickTimeService service = this.tabTPS.platform().tickTimeService();
+    if (!(service instanceof WorldTickTimeService)) {
+      ctx.sender().sendMessage(Components.ofChildren(
+        Constants.PREFIX,
+        space(),
+        Messages.COMMAND_TICKINFO_TEXT_WORLDS_UNSUPPORTED.styled(RED)
+      ));
+      return;
+    }
+    final List<Pair<String, LongSummaryStatistics>> worlds = new ArrayList<>();
+    ((WorldTickTimeService) service).worldTickTimes().forEach((world, tickTimes) ->
+      worlds.add(Pair.of(world, TPSUtil.tickTimeStatistics(tickTimes))));
+    // Slowest worlds first
+    worlds.sort(Comparator.comparingDouble(pair -> -pair.second().getAverage()));
+
+    final List<Component> messages = new ArrayList<>();
+    messages.add(empty());
+    messages.add(Components.ofChildren(
+      Constants.PREFIX,
+      space(),
+      Messages.COMMAND_TICKINFO_TEXT_WORLDS_HEADER.styled(GRAY, ITALIC)
+    ));
+    messages.addAll(TPSUtil.formatTickTimeStatistics(worlds));
+    messages.forEach(ctx.sender()::sendMessage);
+  }
+
+  private void executePhases(final CommandContext<Commander> ctx) {
+    final TickTimeService service = this.tabTPS.platform().tickTimeService();
+    if (!(service instanceof TickPhaseService) || !TickPhases.enabled()) {
+      final TranslatableProvider message = service instanceof TickPhaseService
+        ? Messages.COMMAND_TICKINFO_TEXT_PHASES_DISABLED
+        : Messages.COMMAND_TICKINFO_TEXT_PHASES_UNSUPPORTED;
+      ctx.sender().sendMessage(Components.ofChildren(
+        Constants.PREFIX,
+        space(),
+        message.styled(RED)
+      ));
+      return;
+    }
+    final TickPhases phases = ((TickPhaseService) service).tickPhases();
+    final TickPhases.Phase[] values = TickPhases.Phase.values();
+    final double[] averages = new double[values.length];
+    final long[] maximums = new long[values.length];
+    double total = 0.0D;
+    for (int i = 0; i < values.length; i++) {
+      // Include ticks where the phase didn't run, so averages add up to the time per tick
+      final long[] times = phases.times(values[i]).times();
+      long sum = 0L;
+      for (final long time : times) {
+        sum += time;
+        maximums[i] = Math.max(maximums[i], time);
+      }
+      averages[i] = sum / (double) times.length;
+      // Tasks run between ticks, so shares are of the tick time only
+      if (values[i] != TickPhases.Phase.TASKS) {
+        total += averages[i];
+      }
+    }
+    final int tasks = TickPhases.Phase.TASKS.ordinal();
+    final int last = values[values.length - 1] == TickPhases.Phase.TASKS ? values.length - 2 : values.length - 1;
+
+    final List<Component> messages = new ArrayList<>();
+    messages.add(empty());
+    messages.add(Components.ofChildren(
+      Constants.PREFIX,
+      space(),
+      Messages.COMMAND_TICKINFO_TEXT_PHASES_HEADER.styled(GRAY, ITALIC)
+    ).hoverEvent(Messages.COMMAND_TICKINFO_TEXT_PHASES_HOVER.styled(GRAY)));
+    for (int i = 0; i < values.length; i++) {
+      if (i == tasks) {
+        continue;
+      }
+      final double share = total == 0.0D ? 0.0D : averages[i] / total * 100.0D;
+      messages.add(Components.ofChildren(
+        space(),
+        text(i == last ? "└─" : "├─", WHITE),
+        space(),
+        text(values[i].displayName(), GRAY),
+        text(" - ", WHITE),
+        TPSUtil.coloredMspt(TPSUtil.toMilliseconds(averages[i]), Theme.DEFAULT.colorScheme()),
+        text(String.format(" (%.1f%%)", share), GRAY),
+        text(", ", WHITE),
+        Messages.LABEL_MAXIMUM_SHORT_LOWER.styled(GRAY),
+        space(),
+        TPSUtil.coloredMspt(TPSUtil.toMilliseconds(maximums[i]), Theme.DEFAULT.colorScheme())
+      ));
+    }
+    messages.add(Components.ofChildren(
+      space(),
+      text(TickPhases.Phase.TASKS.displayName(), GRAY),
+      text(" - ", WHITE),
+      TPSUtil.coloredMspt(TPSUtil.toMilliseconds(averages[tasks]), Theme.DEFAULT.colorScheme()),
+      text(", ", WHITE),
+      Messages.LABEL_MAXIMUM_SHORT_LOWER.styled(GRAY),
+      space(),
+      TPSUtil.coloredMspt(TPSUtil.toMilliseconds(maximums[tasks]), Theme.DEFAULT.colorScheme())
+    ).hoverEvent(Messages.COMMAND_TICKINFO_TEXT_PHASES_TASKS_HOVER.styled(GRAY)));
+    messages.forEach(ctx.sender()::sendMessage);
+  }
+
   private Component renderMemory() {
     return this.memoryRenderer.render()
       .hoverEvent(text()
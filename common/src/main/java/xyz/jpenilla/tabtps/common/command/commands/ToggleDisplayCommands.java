@@ -62,19 +62,25 @@ public final class ToggleDisplayCommands extends TabTPSCommand {
       .senderType(User.TYPE)
       .permission(PredicatePermission.of(user -> this.togglePermission(user, DisplayConfig::tabSettings)))
       .commandDescription(richDescription(Messages.COMMAND_TOGGLE_TAB_DESCRIPTION.plain()))
-      .handler(this::toggleTab));
+      .handler(this.onMainThread(this::toggleTab)));
 
     this.commands.register(toggle.literal("actionbar")
       .senderType(User.TYPE)
       .permission(PredicatePermission.of(user -> this.togglePermission(user, DisplayConfig::actionBarSettings)))
       .commandDescription(richDescription(Messages.COMMAND_TOGGLE_ACTIONBAR_DESCRIPTION.plain()))
-      .handler(this::toggleActionBar));
+      .handler(this.onMainThread(this::toggleActionBar)));
 
     this.commands.register(toggle.literal("bossbar")
       .senderType(User.TYPE)
       .permission(PredicatePermission.of(user -> this.togglePermission(user, DisplayConfig::bossBarSettings)))
       .commandDescription(richDescription(Messages.COMMAND_TOGGLE_BOSSBAR_DESCRIPTION.plain()))
-      .handler(this::toggleBossBar));
+      .handler(this.onMainThread(this::toggleBossBar)));
+
+    this.commands.register(toggle.literal("sidebar")
+      .senderType(User.TYPE)
+      .permission(PredicatePermission.of(user -> this.togglePermission(user, DisplayConfig::sidebarSettings)))
+      .commandDescription(richDescription(Messages.COMMAND_TOGGLE_SIDEBAR_DESCRIPTION.plain()))
+      .handler(this.onMainThread(this::toggleSidebar)));
   }
 
   private boolean togglePermission(final User<?> sender, final Function<DisplayConfig, DisplayConfig.DisplaySettings> function) {
@@ -125,6 +131,26 @@ public final class ToggleDisplayCommands extends TabTPSCommand {
     user.markDirty();
   }
 
+  private void toggleSidebar(final CommandContext<User<?>> context) {
+    final User<?> user = context.sender();
+    if (user.sidebar().enabled()) {
+      user.sidebar().stopDisplay();
+      user.sidebar().enabled(false);
+      user.sendMessage(feedbackMessage("/tabtps toggle sidebar", Messages.COMMAND_TOGGLE_SIDEBAR_DISABLED, RED));
+    } else if (user.createSidebarView() == null) {
+      user.sendMessage(text()
+        .append(Constants.PREFIX)
+        .append(space())
+        .append(Messages.COMMAND_TOGGLE_SIDEBAR_UNSUPPORTED.styled(RED, ITALIC)));
+      return;
+    } else {
+      user.sidebar().enabled(true);
+      user.sidebar().startDisplay();
+      user.sendMessage(feedbackMessage("/tabtps toggle sidebar", Messages.COMMAND_TOGGLE_SIDEBAR_ENABLED, GREEN));
+    }
+    user.markDirty();
+  }
+
   private static Component feedbackMessage(final String command, final TranslatableProvider translatable, final TextColor color) {
     return text()
       .append(Constants.PREFIX)
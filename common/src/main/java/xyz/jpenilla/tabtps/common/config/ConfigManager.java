@@ -106,8 +106,10 @@ public final class ConfigManager {
             options -> options.header(
               "TabTPS display configuration\n"
                 + "\n"
-                + "   Available modules: [tps, mspt, memory, ping, cpu, players]\n"
-                + "   Modules are configured in comma separated format, i.e. \"cpu,tps,mspt\", \"ping\", or \"\" (no modules)"
+                + "   Available modules: [tps, mspt, memory, ping, ping_avg, jitter, cpu, players, world_mspt, gc, alloc, off_heap]\n"
+                + "   Modules are configured in comma separated format, i.e. \"cpu,tps,mspt\", \"ping\", or \"\" (no modules)\n"
+                + "   tps, mspt, cpu, ping and alloc can show a moving average instead of the latest value by adding \":ewma<half-life>\",\n"
+                + "   i.e. \"mspt:ewma30s\". The half-life unit is one of ms, s, m or h"
             )
           );
           final DisplayConfig config = loader.load();
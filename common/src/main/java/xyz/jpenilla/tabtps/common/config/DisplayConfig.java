@@ -23,6 +23,9 @@
  */
 package xyz.jpenilla.tabtps.common.config;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
@@ -32,6 +35,8 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 import org.spongepowered.configurate.objectmapping.meta.Comment;
 
 import static net.kyori.adventure.text.Component.space;
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.GREEN;
 
 @ConfigSerializable
 @NullMarked
@@ -44,6 +49,7 @@ public final class DisplayConfig {
   private ActionBarSettings actionBarSettings = new ActionBarSettings();
   private BossBarSettings bossBarSettings = new BossBarSettings();
   private TabSettings tabSettings = new TabSettings();
+  private SidebarSettings sidebarSettings = new SidebarSettings();
 
   public String permission() {
     return this.permission;
@@ -61,6 +67,10 @@ public final class DisplayConfig {
     return this.tabSettings;
   }
 
+  public SidebarSettings sidebarSettings() {
+    return this.sidebarSettings;
+  }
+
   @Override
   public boolean equals(final @Nullable Object o) {
     if (this == o) return true;
@@ -69,12 +79,13 @@ public final class DisplayConfig {
     return this.permission.equals(that.permission)
       && this.actionBarSettings.equals(that.actionBarSettings)
       && this.bossBarSettings.equals(that.bossBarSettings)
-      && this.tabSettings.equals(that.tabSettings);
+      && this.tabSettings.equals(that.tabSettings)
+      && this.sidebarSettings.equals(that.sidebarSettings);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.permission, this.actionBarSettings, this.bossBarSettings, this.tabSettings);
+    return Objects.hash(this.permission, this.actionBarSettings, this.bossBarSettings, this.tabSettings, this.sidebarSettings);
   }
 
   public interface DisplaySettings {
@@ -135,6 +146,10 @@ public final class DisplayConfig {
     @Comment("Set the mode for determining boss bar fill.\nPossible values: [MSPT, TPS, REVERSE_MSPT, REVERSE_TPS]")
     private FillMode fillMode = FillMode.MSPT;
 
+    @Comment("Half-life in seconds of a moving average applied to the fill and color, so they don't flicker around thresholds.\n"
+      + "0 shows the latest values.")
+    private double fillSmoothingHalfLifeSeconds = 0;
+
     @Comment("What kind of overlay should be used for the boss bar?\nMust be one of: [PROGRESS, NOTCHED_6, NOTCHED_10, NOTCHED_12, NOTCHED_20]")
     private BossBar.Overlay overlay = BossBar.Overlay.NOTCHED_20;
 
@@ -164,6 +179,10 @@ public final class DisplayConfig {
       return this.fillMode;
     }
 
+    public double fillSmoothingHalfLifeSeconds() {
+      return this.fillSmoothingHalfLifeSeconds;
+    }
+
     public BossBar.Overlay overlay() {
       return this.overlay;
     }
@@ -240,4 +259,49 @@ public final class DisplayConfig {
       return this.theme;
     }
   }
+
+  @ConfigSerializable
+  public static final class SidebarSettings implements DisplaySettings {
+    private boolean allow = true;
+    private boolean enableOnLogin = false;
+
+    @Comment("The sidebar title. Accepts MiniMessage")
+    private Component title = text("TabTPS", GREEN);
+
+    @Comment("The modules shown on each line of the sidebar, top to bottom. Only the first 15 lines are shown")
+    private List<String> lines = new ArrayList<>(Arrays.asList("tps", "mspt", "cpu", "memory", "ping"));
+
+    private String theme = "default";
+
+    @Comment(SEPARATOR_COMMENT)
+    private Component separator = space();
+
+    @Override
+    public Component separator() {
+      return this.separator;
+    }
+
+    @Override
+    public boolean enableOnLogin() {
+      return this.enableOnLogin;
+    }
+
+    @Override
+    public boolean allow() {
+      return this.allow;
+    }
+
+    public Component title() {
+      return this.title;
+    }
+
+    public List<String> lines() {
+      return this.lines;
+    }
+
+    @Override
+    public String theme() {
+      return this.theme;
+    }
+  }
 }
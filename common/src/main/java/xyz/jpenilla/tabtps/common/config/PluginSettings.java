@@ -62,6 +62,18 @@ public final class PluginSettings {
   @Comment("Colors used in the command help menus")
   private HelpColors helpColors = new HelpColors();
 
+  @Comment("Should time spent in each phase of the server tick (worlds, network, saving, tasks) be recorded for '/tickinfo phases'?\n"
+    + "Only supported on Fabric, NeoForge and Sponge. Adds a small amount of overhead to every tick while enabled.")
+  private boolean tickPhaseTiming = false;
+
+  @Comment("The stall watchdog samples the server thread's stack while a tick takes longer than the threshold, and writes the samples\n"
+    + "to the 'stalls' folder in the collapsed stack format used by flame graph tools (i.e. flamegraph.pl or speedscope).")
+  private StallWatchdog stallWatchdog = new StallWatchdog();
+
+  @Comment("Shows every player's ping after their name in the tab list, for everyone. Only supported on Paper, Fabric, and NeoForge.\n"
+    + "The ping is appended to the name set by the server or other plugins, and only shows in the tab list.")
+  private TabListLatency tabListLatency = new TabListLatency();
+
   public HelpColors helpColors() {
     return this.helpColors;
   }
@@ -82,11 +94,33 @@ public final class PluginSettings {
     return this.updateChecker;
   }
 
+  public boolean tickPhaseTiming() {
+    return this.tickPhaseTiming;
+  }
+
+  public StallWatchdog stallWatchdog() {
+    return this.stallWatchdog;
+  }
+
+  public TabListLatency tabListLatency() {
+    return this.tabListLatency;
+  }
+
   @ConfigSerializable
   public static final class UpdateRates {
     private int tab = 250;
     private int actionBar = 250;
     private int bossBar = 250;
+    private int sidebar = 500;
+    private int tabListLatency = 2000;
+
+    @Comment("The '/tickinfo watch' report is rendered once per update and shared by every watcher.\n"
+      + "Keep this under 2000 for action bar watchers, as the client fades the action bar out after that.")
+    private int watch = 1000;
+
+    @Comment("Adaptive update rates stretch display update intervals as the server comes under load, and restore them once it recovers.\n"
+      + "The update rates above are used as the floor, and intervals will never exceed the configured maximums.")
+    private Adaptive adaptive = new Adaptive();
 
     public int tab() {
       return this.tab;
@@ -99,6 +133,140 @@ public final class PluginSettings {
     public int bossBar() {
       return this.bossBar;
     }
+
+    public int sidebar() {
+      return this.sidebar;
+    }
+
+    public int tabListLatency() {
+      return this.tabListLatency;
+    }
+
+    public int watch() {
+      return this.watch;
+    }
+
+    public Adaptive adaptive() {
+      return this.adaptive;
+    }
+  }
+
+  @ConfigSerializable
+  public static final class Adaptive {
+    private boolean enabled = false;
+
+    @Comment("Average MSPT at which intervals start being stretched, and at which they reach their maximum")
+    private Threshold mspt = new Threshold(40, 60);
+
+    @Comment("Process CPU usage (percent) at which intervals start being stretched, and at which they reach their maximum")
+    private Threshold cpu = new Threshold(70, 95);
+
+    @Comment("Online player count at which intervals start being stretched, and at which they reach their maximum")
+    private Threshold players = new Threshold(200, 1000);
+
+    private int maxTab = 2000;
+    private int maxActionBar = 1000;
+    private int maxBossBar = 2000;
+    private int maxSidebar = 2000;
+
+    public boolean enabled() {
+      return this.enabled;
+    }
+
+    public Threshold mspt() {
+      return this.mspt;
+    }
+
+    public Threshold cpu() {
+      return this.cpu;
+    }
+
+    public Threshold players() {
+      return this.players;
+    }
+
+    public int maxTab() {
+      return this.maxTab;
+    }
+
+    public int maxActionBar() {
+      return this.maxActionBar;
+    }
+
+    public int maxBossBar() {
+      return this.maxBossBar;
+    }
+
+    public int maxSidebar() {
+      return this.maxSidebar;
+    }
+  }
+
+  @ConfigSerializable
+  public static final class Threshold {
+    private double start;
+    private double full;
+
+    private Threshold() {
+    }
+
+    Threshold(final double start, final double full) {
+      this.start = start;
+      this.full = full;
+    }
+
+    /**
+     * Scales a value to the range {@code [0, 1]}, where {@code 0} is at or below
+     * {@code start} and {@code 1} is at or above {@code full}.
+     *
+     * @param value value
+     * @return scaled value
+     */
+    public double scale(final double value) {
+      if (value <= this.start) {
+        return 0;
+      } else if (value >= this.full) {
+        return 1;
+      }
+      return (value - this.start) / (this.full - this.start);
+    }
+  }
+
+  @ConfigSerializable
+  public static final class StallWatchdog {
+    private boolean enabled = false;
+
+    @Comment("How many milliseconds a tick may take before its stack is sampled")
+    private long thresholdMillis = 1000;
+
+    @Comment("How many milliseconds to wait between stack samples")
+    private long sampleIntervalMillis = 10;
+
+    @Comment("Stop sampling a stall after this many samples")
+    private int maxSamples = 6000;
+
+    @Comment("How many stall files to keep, the oldest are deleted first")
+    private int keepFiles = 20;
+
+    public boolean enabled() {
+      return this.enabled;
+    }
+
+    public long thresholdMillis() {
+      return this.thresholdMillis;
+    }
+
+    public long sampleIntervalMillis() {
+      return this.sampleIntervalMillis;
+    }
+
+    public int maxSamples() {
+      return this.maxSamples;
+    }
+
+    public int keepFiles() {
+      return this.keepFiles;
+    }
   }
 
   @ConfigSerializable
@@ -113,4 +281,26 @@ public final class PluginSettings {
       return MinecraftHelp.helpColors(this.primary, this.highlight, this.alternateHighlight, this.text, this.accent);
     }
   }
+
+  @ConfigSerializable
+  public static final class TabListLatency {
+    private boolean enabled = false;
+
+    @Comment("Pings are rounded to multiples of this many milliseconds, and a name is only resent when its rounded ping changes")
+    private int stepMillis = 25;
+
+    private String theme = "default";
+
+    public boolean enabled() {
+      return this.enabled;
+    }
+
+    public int stepMillis() {
+      return this.stepMillis;
+    }
+
+    public String theme() {
+      return this.theme;
+    }
+  }
 }
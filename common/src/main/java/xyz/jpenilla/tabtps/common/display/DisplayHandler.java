@@ -26,6 +26,7 @@ package xyz.jpenilla.tabtps.common.display;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.TabTPS;
@@ -37,16 +38,16 @@ import xyz.jpenilla.tabtps.common.util.RunnableFuturePair;
 public final class DisplayHandler<D extends Display> {
   private transient final TabTPS tabTPS;
   private transient final User<?> user;
-  private transient final Function<DisplayConfig, D> displayFactory;
-  private transient final int updateRate;
+  private transient final Function<DisplayConfig, @Nullable D> displayFactory;
+  private transient final IntSupplier updateRate;
   private transient @Nullable RunnableFuturePair<D> futurePair = null;
   private boolean enabled = false;
 
   public DisplayHandler(
     final TabTPS tabTPS,
     final User<?> user,
-    final int updateRate,
-    final Function<DisplayConfig, D> displayFactory
+    final IntSupplier updateRate,
+    final Function<DisplayConfig, @Nullable D> displayFactory
   ) {
     this.tabTPS = tabTPS;
     this.user = user;
@@ -62,17 +63,39 @@ public final class DisplayHandler<D extends Display> {
     this.enabled = enabled;
   }
 
-  public void startDisplay() {
+  public synchronized void startDisplay() {
     this.stopDisplay();
     this.tabTPS.findDisplayConfig(this.user).ifPresent(config -> {
-      final D task = this.displayFactory.apply(config);
-      final Future<?> future = this.tabTPS.executor()
-        .scheduleAtFixedRate(task, 0L, this.updateRate, TimeUnit.MILLISECONDS);
+      final @Nullable D task = this.displayFactory.apply(config);
+      if (task == null) {
+        return;
+      }
+      final Future<?> future;
+      if (this.tabTPS.updateRateController().adaptive()) {
+        future = this.tabTPS.executor()
+          .schedule(() -> this.runAndReschedule(task), 0L, TimeUnit.MILLISECONDS);
+      } else {
+        future = this.tabTPS.executor()
+          .scheduleAtFixedRate(task, 0L, this.updateRate.getAsInt(), TimeUnit.MILLISECONDS);
+      }
       this.futurePair = new RunnableFuturePair<>(task, future);
     });
   }
 
-  public void stopDisplay() {
+  private void runAndReschedule(final D task) {
+    task.run();
+    synchronized (this) {
+      // Don't reschedule if the display was stopped or replaced while running
+      if (this.futurePair == null || this.futurePair.runnable() != task) {
+        return;
+      }
+      final Future<?> future = this.tabTPS.executor()
+        .schedule(() -> this.runAndReschedule(task), this.updateRate.getAsInt(), TimeUnit.MILLISECONDS);
+      this.futurePair = new RunnableFuturePair<>(task, future);
+    }
+  }
+
+  public synchronized void stopDisplay() {
     if (this.futurePair != null) {
       this.futurePair.future().cancel(false);
       this.futurePair.runnable().disable();
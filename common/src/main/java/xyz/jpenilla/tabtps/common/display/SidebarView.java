@@ -0,0 +1,57 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.display;
+
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A sidebar scoreboard objective shown to a single player.
+ *
+ * <p>Lines are addressed by their index from the top. Each call sends its own update,
+ * so callers should only pass the lines whose content changed.</p>
+ */
+@NullMarked
+public interface SidebarView {
+  /**
+   * The most lines the client will display in the sidebar.
+   */
+  int MAX_LINES = 15;
+
+  /**
+   * Creates the objective with the given number of blank lines and shows it in the sidebar.
+   *
+   * @param title title
+   * @param lines line count, at most {@link #MAX_LINES}
+   */
+  void show(Component title, int lines);
+
+  void line(int index, Component content);
+
+  /**
+   * Removes the objective, restoring whatever the player saw before {@link #show(Component, int)}
+   * where the platform tracks that.
+   */
+  void hide();
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.display;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.Messages;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.config.PluginSettings;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
+import xyz.jpenilla.tabtps.common.util.PingUtil;
+
+import static net.kyori.adventure.text.Component.space;
+import static net.kyori.adventure.text.Component.text;
+
+/**
+ * Shows every player's ping after their name in the tab list.
+ *
+ * <p>Every viewer sees the same entries, so this runs once for the whole server rather than
+ * per user. Pings are rounded to steps, and only players whose step changed since the last
+ * update are passed to the platform's {@link Decorator}, in a single batch per update.</p>
+ */
+@NullMarked
+public final class TabListLatency {
+  private final TabTPS tabTPS;
+  private final Map<UUID, Sent> sent = new HashMap<>();
+  private @Nullable Decorator decorator;
+  private @Nullable Future<?> refreshTask;
+  private MetricSamplers.@Nullable Subscription subscription;
+  private int stepMillis;
+  private Theme.Colors colors = Theme.DEFAULT.colorScheme();
+
+  public TabListLatency(final TabTPS tabTPS) {
+    this.tabTPS = tabTPS;
+    this.reload();
+  }
+
+  /**
+   * Re-reads the settings, clearing and resending every name if still enabled.
+   */
+  public synchronized void reload() {
+    this.stop();
+    final PluginSettings.TabListLatency settings = this.tabTPS.configManager().pluginSettings().tabListLatency();
+    final @Nullable Decorator decorator = this.tabTPS.platform().tabListDecorator();
+    if (!settings.enabled() || decorator == null) {
+      return;
+    }
+    this.decorator = decorator;
+    this.stepMillis = Math.max(1, settings.stepMillis());
+    this.colors = this.tabTPS.configManager().theme(settings.theme()).colorScheme();
+    this.subscription = this.tabTPS.metricSamplers().subscribe(Collections.singleton(Metric.PING));
+    final int rate = this.tabTPS.configManager().pluginSettings().updateRates().tabListLatency();
+    this.refreshTask = this.tabTPS.executor().scheduleAtFixedRate(this::refresh, 0L, rate, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops updating, and removes the suffixes so they don't outlive TabTPS.
+   */
+  public synchronized void shutdown() {
+    this.stop();
+  }
+
+  private void stop() {
+    if (this.refreshTask != null) {
+      this.refreshTask.cancel(false);
+      this.refreshTask = null;
+    }
+    if (this.subscription != null) {
+      this.subscription.close();
+      this.subscription = null;
+    }
+    if (this.decorator != null && !this.sent.isEmpty()) {
+      this.decorator.clear(new HashSet<>(this.sent.keySet()));
+    }
+    this.sent.clear();
+    this.decorator = null;
+  }
+
+  private synchronized void refresh() {
+    if (this.decorator == null) {
+      return;
+    }
+    final Map<UUID, Component> changed = new HashMap<>();
+    final Set<UUID> online = new HashSet<>();
+    for (final User<?> user : this.tabTPS.platform().userService().onlineUsers()) {
+      online.add(user.uuid());
+      final int step = this.step(this.tabTPS.pingMonitor().current(user));
+      final @Nullable Sent previous = this.sent.get(user.uuid());
+      // A respawned player is a new user, whose entry doesn't have the suffix yet
+      if (previous == null || previous.user != user || previous.step != step) {
+        this.sent.put(user.uuid(), new Sent(user, step));
+        changed.put(user.uuid(), this.suffix(step));
+      }
+    }
+    this.sent.keySet().retainAll(online);
+    if (!changed.isEmpty()) {
+      this.decorator.decorate(changed);
+    }
+  }
+
+  private int step(final int ping) {
+    if (ping < 0) {
+      return -1;
+    }
+    return (ping + this.stepMillis / 2) / this.stepMillis * this.stepMillis;
+  }
+
+  private Component suffix(final int step) {
+    if (step < 0) {
+      return Component.empty();
+    }
+    return text()
+      .append(space())
+      .append(PingUtil.coloredPing(step, this.colors))
+      .append(Messages.LABEL_MILLISECONDS_SHORT.styled(this.colors.textSecondary()))
+      .build();
+  }
+
+  private static final class Sent {
+    private final User<?> user;
+    private final int step;
+
+    private Sent(final User<?> user, final int step) {
+      this.user = user;
+      this.step = step;
+    }
+  }
+
+  /**
+   * Applies name suffixes to tab list entries on a platform.
+   */
+  public interface Decorator {
+    /**
+     * Sets the suffix shown after each player's name, sending all of them to viewers as one batch.
+     *
+     * @param suffixes suffixes by player UUID
+     */
+    void decorate(Map<UUID, Component> suffixes);
+
+    /**
+     * Removes the suffixes from these players' names.
+     *
+     * @param players player UUIDs
+     */
+    void clear(Collection<UUID> players);
+  }
+}
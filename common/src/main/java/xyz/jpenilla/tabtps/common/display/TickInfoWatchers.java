@@ -0,0 +1,209 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.display;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.module.ModuleRenderer;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
+
+import static net.kyori.adventure.text.Component.space;
+
+/**
+ * Refreshes the compact report shown by {@code /tickinfo watch}.
+ *
+ * <p>The report doesn't depend on who is watching, so it's rendered once per refresh and
+ * sent to every watcher, and boss bar watchers all view the same bar. The refresh task only
+ * runs while someone is watching. Watches end when the watcher leaves, or when the server
+ * goes idle.</p>
+ */
+@NullMarked
+public final class TickInfoWatchers {
+  private static final String MODULES = "tps,mspt,cpu,memory";
+
+  private final TabTPS tabTPS;
+  private final ModuleRenderer renderer;
+  private final BossBar bar;
+  private final Map<UUID, Target> watchers = new ConcurrentHashMap<>();
+  private @Nullable Future<?> refreshTask;
+  private MetricSamplers.@Nullable Subscription subscription;
+
+  public TickInfoWatchers(final TabTPS tabTPS) {
+    this.tabTPS = tabTPS;
+    this.renderer = ModuleRenderer.builder()
+      .modules(tabTPS, Theme.DEFAULT, MODULES)
+      .separator(space())
+      .moduleRenderFunction(ModuleRenderer.standardRenderFunction(Theme.DEFAULT))
+      .build();
+    this.bar = BossBar.bossBar(Component.empty(), 0.0F, BossBar.Color.GREEN, BossBar.Overlay.NOTCHED_20);
+  }
+
+  public @Nullable Target target(final User<?> user) {
+    return this.watchers.get(user.uuid());
+  }
+
+  /**
+   * Checks whether the user's action bar is taken by a watch, in which case their
+   * regular action bar display holds off.
+   *
+   * @param user user
+   * @return whether the user is watching in the action bar
+   */
+  public boolean watchingActionBar(final User<?> user) {
+    return this.watchers.get(user.uuid()) == Target.ACTION_BAR;
+  }
+
+  public synchronized void watch(final User<?> user, final Target target) {
+    final @Nullable Target previous = this.watchers.put(user.uuid(), target);
+    if (previous == target) {
+      return;
+    }
+    if (previous != null) {
+      this.release(user, previous);
+    }
+    if (target == Target.BOSS_BAR) {
+      user.showBossBar(this.bar);
+    }
+    if (this.refreshTask == null) {
+      this.subscription = this.tabTPS.metricSamplers().subscribe(this.renderer.metrics());
+      final int rate = this.tabTPS.configManager().pluginSettings().updateRates().watch();
+      this.refreshTask = this.tabTPS.executor().scheduleAtFixedRate(this::refresh, 0L, rate, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Ends the user's watch, if they have one.
+   *
+   * @param user user
+   * @return whether the user was watching
+   */
+  public synchronized boolean unwatch(final User<?> user) {
+    final @Nullable Target target = this.watchers.remove(user.uuid());
+    if (target == null) {
+      return false;
+    }
+    this.release(user, target);
+    if (this.watchers.isEmpty()) {
+      this.stopRefreshing();
+    }
+    return true;
+  }
+
+  private void release(final User<?> user, final Target target) {
+    if (target == Target.BOSS_BAR) {
+      user.hideBossBar(this.bar);
+    } else {
+      user.sendActionBar(Component.empty());
+    }
+  }
+
+  /**
+   * Moves a watch over to the new user instance for a player, see
+   * {@link xyz.jpenilla.tabtps.common.service.UserService#replacePlayer(Object)}.
+   *
+   * @param oldUser previous user instance
+   * @param newUser new user instance
+   */
+  public synchronized void replaced(final User<?> oldUser, final User<?> newUser) {
+    if (this.watchers.get(newUser.uuid()) == Target.BOSS_BAR) {
+      oldUser.hideBossBar(this.bar);
+      newUser.showBossBar(this.bar);
+    }
+  }
+
+  public synchronized void clear() {
+    this.watchers.forEach((uuid, target) -> {
+      final @Nullable User<?> user = this.user(uuid);
+      if (user != null) {
+        this.release(user, target);
+      }
+    });
+    this.watchers.clear();
+    this.stopRefreshing();
+  }
+
+  private void stopRefreshing() {
+    if (this.refreshTask != null) {
+      this.refreshTask.cancel(false);
+      this.refreshTask = null;
+    }
+    if (this.subscription != null) {
+      this.subscription.close();
+      this.subscription = null;
+    }
+  }
+
+  private @Nullable User<?> user(final UUID uuid) {
+    return this.tabTPS.platform().userService().userStorage().get(uuid);
+  }
+
+  private void refresh() {
+    if (this.tabTPS.idleMode().idle()) {
+      this.clear();
+      return;
+    }
+    final Component report = this.renderer.render();
+    this.updateBar(report);
+    this.watchers.forEach((uuid, target) -> {
+      if (target != Target.ACTION_BAR) {
+        return;
+      }
+      final @Nullable User<?> user = this.user(uuid);
+      if (user != null && user.online()) {
+        user.sendActionBar(report);
+      }
+    });
+  }
+
+  private void updateBar(final Component report) {
+    // Each changed property is a separate packet to every viewer, so only touch what changed
+    final double mspt = this.tabTPS.platform().tickTimeService().snapshot().averageMspt();
+    final float progress = (float) Math.round(Math.min(1.0D, mspt / 50.0D) * 20.0D) / 20.0F;
+    if (Float.compare(progress, this.bar.progress()) != 0) {
+      this.bar.progress(progress);
+    }
+    final BossBar.Color color = mspt < 25.0D ? BossBar.Color.GREEN : mspt < 40.0D ? BossBar.Color.YELLOW : BossBar.Color.RED;
+    if (color != this.bar.color()) {
+      this.bar.color(color);
+    }
+    if (!report.equals(this.bar.name())) {
+      this.bar.name(report);
+    }
+  }
+
+  public enum Target {
+    ACTION_BAR,
+    BOSS_BAR
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.display;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.config.PluginSettings;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
+
+/**
+ * Decides display update intervals for all users based on server load.
+ *
+ * <p>Load is derived from MSPT, process CPU usage, and player count, and is
+ * recalculated at most once per second, no matter how many displays ask for it.</p>
+ */
+@NullMarked
+public final class UpdateRateController {
+  private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int TICK_MILLIS = 50;
+
+  private final TabTPS tabTPS;
+  private volatile long lastRefresh = System.nanoTime() - REFRESH_INTERVAL_NANOS;
+  private volatile double load = 0;
+  private MetricSamplers.@Nullable Subscription cpuSubscription;
+
+  public UpdateRateController(final TabTPS tabTPS) {
+    this.tabTPS = tabTPS;
+    this.reload();
+  }
+
+  /**
+   * Re-reads the settings, only keeping the CPU sampler busy while adaptive rates need it.
+   */
+  public synchronized void reload() {
+    if (this.adaptive() && this.cpuSubscription == null) {
+      this.cpuSubscription = this.tabTPS.metricSamplers().subscribe(Collections.singleton(Metric.CPU));
+    } else if (!this.adaptive() && this.cpuSubscription != null) {
+      this.cpuSubscription.close();
+      this.cpuSubscription = null;
+    }
+  }
+
+  public boolean adaptive() {
+    return this.settings().adaptive().enabled();
+  }
+
+  public int tabRate() {
+    final PluginSettings.UpdateRates rates = this.settings();
+    return this.rate(rates.tab(), rates.adaptive().maxTab());
+  }
+
+  public int actionBarRate() {
+    final PluginSettings.UpdateRates rates = this.settings();
+    return this.rate(rates.actionBar(), rates.adaptive().maxActionBar());
+  }
+
+  public int bossBarRate() {
+    final PluginSettings.UpdateRates rates = this.settings();
+    return this.rate(rates.bossBar(), rates.adaptive().maxBossBar());
+  }
+
+  public int sidebarRate() {
+    final PluginSettings.UpdateRates rates = this.settings();
+    return this.rate(rates.sidebar(), rates.adaptive().maxSidebar());
+  }
+
+  /**
+   * Gets the current load factor, from {@code 0} (healthy) to {@code 1} (fully loaded).
+   *
+   * @return load factor
+   */
+  public double load() {
+    final long now = System.nanoTime();
+    if (now - this.lastRefresh >= REFRESH_INTERVAL_NANOS) {
+      synchronized (this) {
+        if (now - this.lastRefresh >= REFRESH_INTERVAL_NANOS) {
+          this.load = this.computeLoad();
+          this.lastRefresh = now;
+        }
+      }
+    }
+    return this.load;
+  }
+
+  private int rate(final int floor, final int ceiling) {
+    if (!this.adaptive() || ceiling <= floor) {
+      return floor;
+    }
+    final double stretched = floor + (ceiling - floor) * this.load();
+    // Round to whole ticks so small load fluctuations don't constantly change intervals
+    return Math.max(floor, (int) Math.round(stretched / TICK_MILLIS) * TICK_MILLIS);
+  }
+
+  private double computeLoad() {
+    final PluginSettings.Adaptive adaptive = this.settings().adaptive();
+    final double mspt = adaptive.mspt().scale(this.tabTPS.platform().tickTimeService().snapshot().averageMspt());
+    final double cpu = adaptive.cpu().scale(this.tabTPS.cpuMonitor().recentProcessCpuLoadSnapshot());
+    final double players = adaptive.players().scale(this.tabTPS.platform().userService().onlinePlayers());
+    return Math.max(mspt, Math.max(cpu, players));
+  }
+
+  private PluginSettings.UpdateRates settings() {
+    return this.tabTPS.configManager().pluginSettings().updateRates();
+  }
+}
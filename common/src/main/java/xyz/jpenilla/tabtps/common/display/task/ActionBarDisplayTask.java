@@ -31,11 +31,14 @@ import xyz.jpenilla.tabtps.common.config.DisplayConfig;
 import xyz.jpenilla.tabtps.common.config.Theme;
 import xyz.jpenilla.tabtps.common.display.Display;
 import xyz.jpenilla.tabtps.common.module.ModuleRenderer;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
 
 @NullMarked
 public final class ActionBarDisplayTask implements Display {
+  private final TabTPS tabTPS;
   private final User<?> user;
   private final ModuleRenderer renderer;
+  private final MetricSamplers.Subscription subscription;
 
   public ActionBarDisplayTask(final TabTPS tabTPS, final User<?> user, final DisplayConfig.ActionBarSettings settings) {
     final Theme theme = tabTPS.configManager().theme(settings.theme());
@@ -44,7 +47,9 @@ public final class ActionBarDisplayTask implements Display {
       .separator(settings.separator())
       .moduleRenderFunction(ModuleRenderer.standardRenderFunction(theme))
       .build();
+    this.tabTPS = tabTPS;
     this.user = user;
+    this.subscription = tabTPS.metricSamplers().subscribe(this.renderer.metrics());
   }
 
   @Override
@@ -53,11 +58,16 @@ public final class ActionBarDisplayTask implements Display {
       this.user.actionBar().stopDisplay();
       return;
     }
+    if (this.tabTPS.tickInfoWatchers().watchingActionBar(this.user)) {
+      // A /tickinfo watch has the action bar for now
+      return;
+    }
     this.user.sendActionBar(this.renderer.render());
   }
 
   @Override
   public void disable() {
+    this.subscription.close();
     this.user.sendActionBar(Component.empty());
   }
 }
@@ -23,22 +23,22 @@
  */
 package xyz.jpenilla.tabtps.common.display.task;
 
-import net.kyori.adventure.bossbar.BossBar;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.User;
 import xyz.jpenilla.tabtps.common.config.DisplayConfig;
-import xyz.jpenilla.tabtps.common.config.Theme;
 import xyz.jpenilla.tabtps.common.display.Display;
-import xyz.jpenilla.tabtps.common.module.ModuleRenderer;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
 
 @NullMarked
 public final class BossBarDisplayTask implements Display {
   private final TabTPS tabTPS;
   private final User<?> user;
   private final DisplayConfig.BossBarSettings settings;
-  private final ModuleRenderer renderer;
-  private final BossBar bar;
+  private final BossBarUpdater updater;
+  private final SharedBossBars.@Nullable Shared shared;
+  private final MetricSamplers.Subscription subscription;
 
   public BossBarDisplayTask(
     final TabTPS tabTPS,
@@ -48,88 +48,24 @@ public final class BossBarDisplayTask implements Display {
     this.tabTPS = tabTPS;
     this.user = user;
     this.settings = settings;
-    final Theme theme = tabTPS.configManager().theme(settings.theme());
-    this.renderer = ModuleRenderer.builder()
-      .modules(tabTPS, theme, user, settings.modules())
-      .separator(settings.separator())
-      .moduleRenderFunction(ModuleRenderer.standardRenderFunction(theme))
-      .build();
-    this.bar = BossBar.bossBar(
-      this.renderer.render(),
-      this.progress(),
-      this.color(),
-      this.overlay()
-    );
-    user.showBossBar(this.bar);
-  }
-
-  private float progress() {
-    switch (this.settings.fillMode()) {
-      case MSPT:
-        return this.msptProgress();
-      case TPS:
-        return this.tpsProgress();
-      case REVERSE_MSPT:
-        return 1.0F - this.msptProgress();
-      case REVERSE_TPS:
-        return 1.0F - this.tpsProgress();
-      default:
-        throw new IllegalStateException("Unknown or invalid fill mode: " + this.settings.fillMode());
+    if (SharedBossBars.shareable(settings)) {
+      this.shared = tabTPS.sharedBossBars().acquire(settings);
+      this.updater = this.shared.updater();
+    } else {
+      this.shared = null;
+      this.updater = new BossBarUpdater(tabTPS, settings, user);
     }
-  }
-
-  private float msptProgress() {
-    return ensureInRange(this.tabTPS.platform().tickTimeService().averageMspt() / 50.0f);
-  }
-
-  private float tpsProgress() {
-    return ensureInRange(this.tabTPS.platform().tickTimeService().displayTps() / 20.0f);
-  }
-
-  private static float ensureInRange(final double value) {
-    return (float) Math.max(0.00D, Math.min(1.00D, value));
-  }
-
-  private BossBar.Color color() {
-    switch (this.settings.fillMode()) {
-      case MSPT:
-      case REVERSE_MSPT:
-        final double mspt = this.tabTPS.platform().tickTimeService().averageMspt();
-        if (mspt < 25) {
-          return this.settings.colors().goodPerformance();
-        } else if (mspt < 40) {
-          return this.settings.colors().mediumPerformance();
-        } else {
-          return this.settings.colors().lowPerformance();
-        }
-      case REVERSE_TPS:
-      case TPS:
-        final double tps = this.tabTPS.platform().tickTimeService().displayTps();
-        if (tps > 18.50D) {
-          return this.settings.colors().goodPerformance();
-        } else if (tps > 15.00D) {
-          return this.settings.colors().mediumPerformance();
-        } else {
-          return this.settings.colors().lowPerformance();
-        }
-      default:
-        throw new IllegalStateException("Unknown or invalid fill mode: " + this.settings.fillMode());
-    }
-  }
-
-  private BossBar.Overlay overlay() {
-    return this.settings.overlay();
-  }
-
-  private void updateBar() {
-    this.bar.progress(this.progress());
-    this.bar.color(this.color());
-    this.bar.name(this.renderer.render());
+    this.subscription = tabTPS.metricSamplers().subscribe(this.updater.metrics());
+    user.showBossBar(this.updater.bar());
   }
 
   @Override
   public void disable() {
-    this.user.hideBossBar(this.bar);
+    this.subscription.close();
+    this.user.hideBossBar(this.updater.bar());
+    if (this.shared != null) {
+      this.tabTPS.sharedBossBars().release(this.settings, this.shared);
+    }
   }
 
   @Override
@@ -138,6 +74,10 @@ public final class BossBarDisplayTask implements Display {
       this.user.bossBar().stopDisplay();
       return;
     }
-    this.updateBar();
+    if (this.shared != null) {
+      this.shared.tick(this.tabTPS.updateRateController().bossBarRate());
+    } else {
+      this.updater.update();
+    }
   }
 }
@@ -0,0 +1,202 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.display.task;
+
+import java.time.Duration;
+import java.util.Set;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.config.DisplayConfig;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.module.ModuleRenderer;
+import xyz.jpenilla.tabtps.common.util.Ewma;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.MetricsSnapshot;
+
+@NullMarked
+final class BossBarUpdater {
+  private final TabTPS tabTPS;
+  private final DisplayConfig.BossBarSettings settings;
+  private final ModuleRenderer renderer;
+  private final BossBar bar;
+  private final int progressSteps;
+  private final @Nullable Ewma fillSmoothing;
+
+  BossBarUpdater(
+    final TabTPS tabTPS,
+    final DisplayConfig.BossBarSettings settings,
+    final @Nullable User<?> user
+  ) {
+    this.tabTPS = tabTPS;
+    this.settings = settings;
+    final Theme theme = tabTPS.configManager().theme(settings.theme());
+    this.renderer = ModuleRenderer.builder()
+      .modules(tabTPS, theme, user, settings.modules())
+      .separator(settings.separator())
+      .moduleRenderFunction(ModuleRenderer.standardRenderFunction(theme))
+      .build();
+    this.progressSteps = progressSteps(settings.overlay());
+    this.fillSmoothing = settings.fillSmoothingHalfLifeSeconds() > 0
+      ? new Ewma(Duration.ofNanos((long) (settings.fillSmoothingHalfLifeSeconds() * 1.0E9D)))
+      : null;
+    final double fillValue = this.fillValue();
+    this.bar = BossBar.bossBar(
+      this.renderer.render(),
+      this.quantizedProgress(fillValue),
+      this.color(fillValue),
+      this.overlay()
+    );
+  }
+
+  BossBar bar() {
+    return this.bar;
+  }
+
+  Set<Metric> metrics() {
+    return this.renderer.metrics();
+  }
+
+  /**
+   * Gets the number of distinct fill levels worth sending for an overlay.
+   *
+   * <p>Notched overlays can't visibly distinguish values between notches, and
+   * the continuous bar is only a couple hundred pixels wide.</p>
+   *
+   * @param overlay overlay
+   * @return number of fill steps
+   */
+  private static int progressSteps(final BossBar.Overlay overlay) {
+    switch (overlay) {
+      case NOTCHED_6:
+        return 6;
+      case NOTCHED_10:
+        return 10;
+      case NOTCHED_12:
+        return 12;
+      case NOTCHED_20:
+        return 20;
+      case PROGRESS:
+      default:
+        return 100;
+    }
+  }
+
+  /**
+   * Gets the MSPT or TPS value the fill mode is based on, smoothed if configured.
+   *
+   * @return fill value
+   */
+  private double fillValue() {
+    final MetricsSnapshot snapshot = this.tabTPS.platform().tickTimeService().snapshot();
+    final double value;
+    switch (this.settings.fillMode()) {
+      case MSPT:
+      case REVERSE_MSPT:
+        value = snapshot.averageMspt();
+        break;
+      case TPS:
+      case REVERSE_TPS:
+        value = snapshot.displayTps();
+        break;
+      default:
+        throw new IllegalStateException("Unknown or invalid fill mode: " + this.settings.fillMode());
+    }
+    return this.fillSmoothing == null ? value : this.fillSmoothing.update(value);
+  }
+
+  private float quantizedProgress(final double fillValue) {
+    return (float) Math.round(this.progress(fillValue) * this.progressSteps) / this.progressSteps;
+  }
+
+  private float progress(final double fillValue) {
+    switch (this.settings.fillMode()) {
+      case MSPT:
+        return ensureInRange(fillValue / 50.0f);
+      case TPS:
+        return ensureInRange(fillValue / 20.0f);
+      case REVERSE_MSPT:
+        return 1.0F - ensureInRange(fillValue / 50.0f);
+      case REVERSE_TPS:
+        return 1.0F - ensureInRange(fillValue / 20.0f);
+      default:
+        throw new IllegalStateException("Unknown or invalid fill mode: " + this.settings.fillMode());
+    }
+  }
+
+  private static float ensureInRange(final double value) {
+    return (float) Math.max(0.00D, Math.min(1.00D, value));
+  }
+
+  private BossBar.Color color(final double fillValue) {
+    switch (this.settings.fillMode()) {
+      case MSPT:
+      case REVERSE_MSPT:
+        final double mspt = fillValue;
+        if (mspt < 25) {
+          return this.settings.colors().goodPerformance();
+        } else if (mspt < 40) {
+          return this.settings.colors().mediumPerformance();
+        } else {
+          return this.settings.colors().lowPerformance();
+        }
+      case REVERSE_TPS:
+      case TPS:
+        final double tps = fillValue;
+        if (tps > 18.50D) {
+          return this.settings.colors().goodPerformance();
+        } else if (tps > 15.00D) {
+          return this.settings.colors().mediumPerformance();
+        } else {
+          return this.settings.colors().lowPerformance();
+        }
+      default:
+        throw new IllegalStateException("Unknown or invalid fill mode: " + this.settings.fillMode());
+    }
+  }
+
+  private BossBar.Overlay overlay() {
+    return this.settings.overlay();
+  }
+
+  void update() {
+    // Each changed property is a separate packet to every viewer, so only touch what changed
+    final double fillValue = this.fillValue();
+    final float progress = this.quantizedProgress(fillValue);
+    if (Float.compare(progress, this.bar.progress()) != 0) {
+      this.bar.progress(progress);
+    }
+    final BossBar.Color color = this.color(fillValue);
+    if (color != this.bar.color()) {
+      this.bar.color(color);
+    }
+    final Component name = this.renderer.render();
+    if (!name.equals(this.bar.name())) {
+      this.bar.name(name);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.display.task;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.config.DisplayConfig;
+import xyz.jpenilla.tabtps.common.module.ModuleSpec;
+
+/**
+ * Tracks boss bars shared between every viewer of a display config.
+ *
+ * <p>When a boss bar config contains no per-player modules, every viewer would
+ * see the same content, so a single bar is rendered and updated once per
+ * interval no matter how many players are watching it.</p>
+ */
+@NullMarked
+public final class SharedBossBars {
+  private final TabTPS tabTPS;
+  private final Map<DisplayConfig.BossBarSettings, Shared> bars = new IdentityHashMap<>();
+
+  public SharedBossBars(final TabTPS tabTPS) {
+    this.tabTPS = tabTPS;
+  }
+
+  /**
+   * Checks whether the given settings render the same content for every player.
+   *
+   * @param settings boss bar settings
+   * @return whether a bar for these settings can be shared
+   */
+  public static boolean shareable(final DisplayConfig.BossBarSettings settings) {
+    return ModuleSpec.parseList(settings.modules()).stream()
+      .noneMatch(spec -> spec.type().needsPlayer());
+  }
+
+  synchronized Shared acquire(final DisplayConfig.BossBarSettings settings) {
+    final Shared shared = this.bars.computeIfAbsent(settings, s -> new Shared(new BossBarUpdater(this.tabTPS, s, null)));
+    shared.viewers++;
+    return shared;
+  }
+
+  synchronized void release(final DisplayConfig.BossBarSettings settings, final Shared shared) {
+    if (--shared.viewers <= 0) {
+      this.bars.remove(settings, shared);
+    }
+  }
+
+  static final class Shared {
+    // Viewer tasks run out of phase with each other, so allow some slack to still update once per interval
+    private static final long SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+
+    private final BossBarUpdater updater;
+    private int viewers = 0;
+    private long lastUpdate = System.nanoTime();
+
+    private Shared(final BossBarUpdater updater) {
+      this.updater = updater;
+    }
+
+    BossBarUpdater updater() {
+      return this.updater;
+    }
+
+    synchronized void tick(final int intervalMillis) {
+      final long now = System.nanoTime();
+      if (now - this.lastUpdate < TimeUnit.MILLISECONDS.toNanos(intervalMillis) - SLACK_NANOS) {
+        return;
+      }
+      this.lastUpdate = now;
+      this.updater.update();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.display.task;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.config.DisplayConfig;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.display.Display;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
+import xyz.jpenilla.tabtps.common.module.ModuleRenderer;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
+
+/**
+ * Shows modules on the lines of a sidebar objective.
+ *
+ * <p>The last content sent for each line is kept, and only lines which render differently
+ * are sent again, so a steady server costs next to no packets per update.</p>
+ */
+@NullMarked
+public final class SidebarDisplayTask implements Display {
+  private final User<?> user;
+  private final SidebarView view;
+  private final List<ModuleRenderer> lines = new ArrayList<>();
+  private final @Nullable Component[] sent;
+  private final MetricSamplers.Subscription subscription;
+
+  public SidebarDisplayTask(final TabTPS tabTPS, final User<?> user, final SidebarView view, final DisplayConfig.SidebarSettings settings) {
+    final Theme theme = tabTPS.configManager().theme(settings.theme());
+    final Set<Metric> metrics = EnumSet.noneOf(Metric.class);
+    for (final String modules : settings.lines()) {
+      if (this.lines.size() == SidebarView.MAX_LINES) {
+        break;
+      }
+      final ModuleRenderer renderer = ModuleRenderer.builder()
+        .modules(tabTPS, theme, user, modules)
+        .separator(settings.separator())
+        .moduleRenderFunction(ModuleRenderer.standardRenderFunction(theme))
+        .build();
+      metrics.addAll(renderer.metrics());
+      this.lines.add(renderer);
+    }
+    this.user = user;
+    this.sent = new Component[this.lines.size()];
+    this.subscription = tabTPS.metricSamplers().subscribe(metrics);
+    this.view = view;
+    this.view.show(settings.title(), this.lines.size());
+  }
+
+  @Override
+  public void run() {
+    if (!this.user.online()) {
+      this.user.sidebar().stopDisplay();
+      return;
+    }
+    for (int i = 0; i < this.lines.size(); i++) {
+      final Component line = this.lines.get(i).render();
+      if (!line.equals(this.sent[i])) {
+        this.view.line(i, line);
+        this.sent[i] = line;
+      }
+    }
+  }
+
+  @Override
+  public void disable() {
+    this.subscription.close();
+    this.view.hide();
+  }
+}
@@ -23,20 +23,28 @@
  */
 package xyz.jpenilla.tabtps.common.display.task;
 
+import java.util.EnumSet;
+import java.util.Set;
 import net.kyori.adventure.text.Component;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.User;
 import xyz.jpenilla.tabtps.common.config.DisplayConfig;
 import xyz.jpenilla.tabtps.common.config.Theme;
 import xyz.jpenilla.tabtps.common.display.Display;
 import xyz.jpenilla.tabtps.common.module.ModuleRenderer;
+import xyz.jpenilla.tabtps.common.util.Metric;
+import xyz.jpenilla.tabtps.common.util.MetricSamplers;
 
 @NullMarked
 public final class TabDisplayTask implements Display {
   private final ModuleRenderer headerRenderer;
   private final ModuleRenderer footerRenderer;
   private final User<?> user;
+  private final MetricSamplers.Subscription subscription;
+  private @Nullable Component lastHeader = null;
+  private @Nullable Component lastFooter = null;
 
   public TabDisplayTask(final TabTPS tabTPS, final User<?> user, final DisplayConfig.TabSettings settings) {
     final Theme theme = tabTPS.configManager().theme(settings.theme());
@@ -51,6 +59,10 @@ public final class TabDisplayTask implements Display {
       .moduleRenderFunction(ModuleRenderer.standardRenderFunction(theme))
       .build();
     this.user = user;
+    final Set<Metric> metrics = EnumSet.noneOf(Metric.class);
+    metrics.addAll(this.headerRenderer.metrics());
+    metrics.addAll(this.footerRenderer.metrics());
+    this.subscription = tabTPS.metricSamplers().subscribe(metrics);
   }
 
   @Override
@@ -59,18 +71,33 @@ public final class TabDisplayTask implements Display {
       this.user.tab().stopDisplay();
       return;
     }
-    if (this.headerRenderer.moduleCount() > 0) {
-      this.user.sendPlayerListHeader(this.headerRenderer.render());
+    final @Nullable Component header = this.headerRenderer.moduleCount() > 0 ? this.headerRenderer.render() : null;
+    final @Nullable Component footer = this.footerRenderer.moduleCount() > 0 ? this.footerRenderer.render() : null;
+    final boolean headerChanged = header != null && !header.equals(this.lastHeader);
+    final boolean footerChanged = footer != null && !footer.equals(this.lastFooter);
+    if (!headerChanged && !footerChanged) {
+      return;
     }
-    if (this.footerRenderer.moduleCount() > 0) {
-      this.user.sendPlayerListFooter(this.footerRenderer.render());
+    this.lastHeader = header;
+    this.lastFooter = footer;
+
+    // Every send is a full tab list packet, so send both sides at once when we own both
+    if (header != null && footer != null) {
+      this.user.sendPlayerListHeaderAndFooter(header, footer);
+    } else if (header != null) {
+      this.user.sendPlayerListHeader(header);
+    } else if (footer != null) {
+      this.user.sendPlayerListFooter(footer);
     }
   }
 
   @Override
   public void disable() {
+    this.subscription.close();
     if (this.user.online()) {
       this.user.sendPlayerListHeaderAndFooter(Component.empty(), Component.empty());
     }
+    this.lastHeader = null;
+    this.lastFooter = null;
   }
 }
@@ -0,0 +1,92 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.module;
+
+import java.time.Duration;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.Messages;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.AllocationMonitor;
+import xyz.jpenilla.tabtps.common.util.Components;
+import xyz.jpenilla.tabtps.common.util.Ewma;
+
+/**
+ * Shows the JVM allocation rate in megabytes per second, and the server thread's share of it when known.
+ */
+@NullMarked
+public final class AllocationModule extends AbstractModule implements SmoothableModule {
+  private @Nullable Ewma totalEwma;
+  private @Nullable Ewma serverThreadEwma;
+
+  public AllocationModule(
+    final TabTPS tabTPS,
+    final Theme theme
+  ) {
+    super(tabTPS, theme);
+  }
+
+  @Override
+  public void smoothing(final Duration halfLife) {
+    this.totalEwma = new Ewma(halfLife);
+    this.serverThreadEwma = new Ewma(halfLife);
+  }
+
+  @Override
+  public Component label() {
+    return Messages.LABEL_ALLOC.styled(this.theme.colorScheme().text());
+  }
+
+  @Override
+  public Component display() {
+    final AllocationMonitor.Snapshot snapshot = this.tabTPS.allocationMonitor().snapshot();
+    final TextComponent.Builder builder = Component.text()
+      .append(this.megabytes(smooth(this.totalEwma, snapshot.bytesPerSecond())))
+      .append(Messages.LABEL_MEGABYTES_PER_SECOND_SHORT.styled(this.theme.colorScheme().textSecondary()));
+    if (snapshot.serverThreadBytesPerSecond() >= 0) {
+      builder.append(Component.space())
+        .append(Component.text("(", this.theme.colorScheme().textSecondary()))
+        .append(this.megabytes(smooth(this.serverThreadEwma, snapshot.serverThreadBytesPerSecond())))
+        .append(Component.space())
+        .append(Messages.LABEL_SERVER_THREAD_SHORT_LOWER.styled(this.theme.colorScheme().text()))
+        .append(Component.text(")", this.theme.colorScheme().textSecondary()));
+    }
+    return builder.build();
+  }
+
+  private static double smooth(final @Nullable Ewma ewma, final double bytesPerSecond) {
+    return ewma == null ? bytesPerSecond : ewma.update(bytesPerSecond);
+  }
+
+  private Component megabytes(final double bytes) {
+    return Components.gradient(
+      String.format("%.1f", bytes / (1024.0D * 1024.0D)),
+      this.theme.colorScheme().goodPerformance(),
+      this.theme.colorScheme().goodPerformanceSecondary()
+    );
+  }
+}
@@ -23,16 +23,22 @@
  */
 package xyz.jpenilla.tabtps.common.module;
 
+import java.time.Duration;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.Messages;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.config.Theme;
 import xyz.jpenilla.tabtps.common.util.Components;
+import xyz.jpenilla.tabtps.common.util.Ewma;
 
 @NullMarked
-public final class CPUModule extends AbstractModule {
+public final class CPUModule extends AbstractModule implements SmoothableModule {
+  private @Nullable Ewma systemEwma;
+  private @Nullable Ewma processEwma;
+
   public CPUModule(
     final TabTPS tabTPS,
     final Theme theme
@@ -40,6 +46,12 @@ public final class CPUModule extends AbstractModule {
     super(tabTPS, theme);
   }
 
+  @Override
+  public void smoothing(final Duration halfLife) {
+    this.systemEwma = new Ewma(halfLife);
+    this.processEwma = new Ewma(halfLife);
+  }
+
   @Override
   public Component label() {
     return Messages.LABEL_CPU.styled(this.theme.colorScheme().text());
@@ -47,12 +59,14 @@ public final class CPUModule extends AbstractModule {
 
   @Override
   public Component display() {
+    final double system = smooth(this.systemEwma, this.tabTPS.cpuMonitor().recentSystemCpuLoadSnapshot());
+    final double process = smooth(this.processEwma, this.tabTPS.cpuMonitor().recentProcessCpuLoadSnapshot());
     final TextComponent.Builder builder = Component.text()
-      .append(Components.gradient(String.valueOf(this.tabTPS.cpuMonitor().recentSystemCpuLoadSnapshot()), this.theme.colorScheme().goodPerformance(), this.theme.colorScheme().goodPerformanceSecondary()))
+      .append(Components.gradient(String.valueOf(system), this.theme.colorScheme().goodPerformance(), this.theme.colorScheme().goodPerformanceSecondary()))
       .append(Component.text("%", this.theme.colorScheme().text()))
       .append(Component.text(",", this.theme.colorScheme().textSecondary()))
       .append(Component.space())
-      .append(Components.gradient(String.valueOf(this.tabTPS.cpuMonitor().recentProcessCpuLoadSnapshot()), this.theme.colorScheme().goodPerformance(), this.theme.colorScheme().goodPerformanceSecondary()))
+      .append(Components.gradient(String.valueOf(process), this.theme.colorScheme().goodPerformance(), this.theme.colorScheme().goodPerformanceSecondary()))
       .append(Component.text("%", this.theme.colorScheme().text()));
     builder.append(Component.space())
       .append(Component.text("(", this.theme.colorScheme().textSecondary()))
@@ -62,4 +76,12 @@ public final class CPUModule extends AbstractModule {
       .append(Component.text(")", this.theme.colorScheme().textSecondary()));
     return builder.build();
   }
+
+  private static double smooth(final @Nullable Ewma ewma, final double load) {
+    if (ewma == null) {
+      return load;
+    }
+    // Same precision as the monitor's own averages
+    return Math.round(ewma.update(load) * 100.0D) / 100.0D;
+  }
 }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.module;
+
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.Messages;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Components;
+import xyz.jpenilla.tabtps.common.util.GCMonitor;
+import xyz.jpenilla.tabtps.common.util.TPSUtil;
+
+/**
+ * Shows how many garbage collection pauses happened in the last minute, and the longest of them.
+ */
+@NullMarked
+public final class GCModule extends AbstractModule {
+  private static final long WINDOW = TimeUnit.MINUTES.toNanos(1);
+
+  public GCModule(
+    final TabTPS tabTPS,
+    final Theme theme
+  ) {
+    super(tabTPS, theme);
+  }
+
+  @Override
+  public Component label() {
+    return Messages.LABEL_GC.styled(this.theme.colorScheme().text());
+  }
+
+  @Override
+  public Component display() {
+    final GCMonitor.Summary summary = this.tabTPS.gcMonitor().summary(WINDOW);
+    return Component.text()
+      .append(Components.gradient(String.valueOf(summary.count()), this.theme.colorScheme().goodPerformance(), this.theme.colorScheme().goodPerformanceSecondary()))
+      .append(Messages.LABEL_PER_MINUTE_SHORT.styled(this.theme.colorScheme().text()))
+      .append(Component.text(",", this.theme.colorScheme().textSecondary()))
+      .append(Component.space())
+      .append(TPSUtil.coloredMspt(TPSUtil.toMilliseconds(summary.maxNanos()), this.theme.colorScheme()))
+      .append(Messages.LABEL_MILLISECONDS_SHORT.styled(this.theme.colorScheme().textSecondary()))
+      .append(Component.space())
+      .append(Messages.LABEL_MAXIMUM_SHORT_LOWER.styled(this.theme.colorScheme().text()))
+      .build();
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.module;
+
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.Messages;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.PingMonitor;
+import xyz.jpenilla.tabtps.common.util.PingUtil;
+
+/**
+ * Shows how much a player's ping varied between samples over the last minute.
+ */
+@NullMarked
+public final class JitterModule extends AbstractModule {
+  private final User<?> user;
+
+  public JitterModule(
+    final TabTPS tabTPS,
+    final Theme theme,
+    final User<?> user
+  ) {
+    super(tabTPS, theme);
+    this.user = user;
+  }
+
+  @Override
+  public Component label() {
+    return Messages.LABEL_JITTER.styled(this.theme.colorScheme().text());
+  }
+
+  @Override
+  public Component display() {
+    final PingMonitor.@Nullable Stats stats = this.tabTPS.pingMonitor().stats(this.user);
+    return Component.text()
+      .append(PingUtil.coloredJitter(stats == null ? 0 : (int) Math.round(stats.jitter()), this.theme.colorScheme()))
+      .append(Messages.LABEL_MILLISECONDS_SHORT.styled(this.theme.colorScheme().textSecondary()))
+      .build();
+  }
+}
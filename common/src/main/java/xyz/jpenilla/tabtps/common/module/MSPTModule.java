@@ -23,15 +23,20 @@
  */
 package xyz.jpenilla.tabtps.common.module;
 
+import java.time.Duration;
 import net.kyori.adventure.text.Component;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.Messages;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Ewma;
 import xyz.jpenilla.tabtps.common.util.TPSUtil;
 
 @NullMarked
-public final class MSPTModule extends AbstractModule {
+public final class MSPTModule extends AbstractModule implements SmoothableModule {
+  private @Nullable Ewma ewma;
+
   public MSPTModule(
     final TabTPS tabTPS,
     final Theme theme
@@ -39,6 +44,11 @@ public final class MSPTModule extends AbstractModule {
     super(tabTPS, theme);
   }
 
+  @Override
+  public void smoothing(final Duration halfLife) {
+    this.ewma = new Ewma(halfLife);
+  }
+
   @Override
   public Component label() {
     return Messages.LABEL_MSPT.styled(this.theme.colorScheme().text());
@@ -46,6 +56,7 @@ public final class MSPTModule extends AbstractModule {
 
   @Override
   public Component display() {
-    return TPSUtil.coloredMspt(this.tabTPS.platform().tickTimeService().averageMspt(), this.theme.colorScheme());
+    final double mspt = this.tabTPS.platform().tickTimeService().snapshot().averageMspt();
+    return TPSUtil.coloredMspt(this.ewma == null ? mspt : this.ewma.update(mspt), this.theme.colorScheme());
   }
 }
@@ -25,9 +25,11 @@ package xyz.jpenilla.tabtps.common.module;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.Component;
@@ -37,6 +39,7 @@ import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.User;
 import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Metric;
 
 import static net.kyori.adventure.text.Component.space;
 import static net.kyori.adventure.text.Component.text;
@@ -83,6 +86,19 @@ public final class ModuleRenderer {
     return this.modules.size();
   }
 
+  /**
+   * Gets the background metrics read by this renderer's modules.
+   *
+   * @return metrics
+   */
+  public Set<Metric> metrics() {
+    final Set<Metric> metrics = EnumSet.noneOf(Metric.class);
+    for (final Module module : this.modules) {
+      metrics.addAll(module.type().metrics());
+    }
+    return metrics;
+  }
+
   /**
    * Create a new ModuleRenderer builder.
    *
@@ -140,6 +156,8 @@ public final class ModuleRenderer {
     /**
      * Sets the list of {@link Module}s to use from a comma separated {@link String}.
      *
+     * <p>See {@link ModuleSpec} for the options modules accept.</p>
+     *
      * @param tabTPS  The TabTPS instance
      * @param theme   Theme to use
      * @param player  The Player to use
@@ -152,11 +170,9 @@ public final class ModuleRenderer {
       final @Nullable User<?> player,
       final String modules
     ) {
-      return this.modules(Arrays.stream(modules.replace(" ", "").split(","))
-        .filter(s -> s != null && !s.isEmpty())
-        .map(ModuleType::fromName)
-        .filter(type -> !type.needsPlayer() || player != null)
-        .map(type -> type.createModule(tabTPS, theme, player))
+      return this.modules(ModuleSpec.parseList(modules).stream()
+        .filter(spec -> !spec.type().needsPlayer() || player != null)
+        .map(spec -> spec.createModule(tabTPS, theme, player))
         .collect(Collectors.toList()));
     }
 
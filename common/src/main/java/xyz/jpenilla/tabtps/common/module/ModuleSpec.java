@@ -0,0 +1,129 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.module;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.config.Theme;
+
+/**
+ * A module as written in a display config, its name optionally followed by {@code :} and an option.
+ *
+ * <p>The only option is {@code ewma<half-life>}, i.e. {@code mspt:ewma30s}, which makes a
+ * {@link SmoothableModule} show a moving average. The half-life unit is one of
+ * {@code ms}, {@code s}, {@code m} or {@code h}.</p>
+ */
+@NullMarked
+public final class ModuleSpec {
+  private static final Pattern EWMA = Pattern.compile("ewma(\\d+)(ms|s|m|h)");
+
+  private final ModuleType<?> type;
+  private final @Nullable Duration halfLife;
+
+  private ModuleSpec(final ModuleType<?> type, final @Nullable Duration halfLife) {
+    this.type = type;
+    this.halfLife = halfLife;
+  }
+
+  /**
+   * Parses a comma separated list of modules.
+   *
+   * @param modules modules, i.e. {@code "tps,mspt:ewma30s"}
+   * @return parsed modules
+   * @throws IllegalArgumentException if a module type or option is invalid
+   */
+  public static List<ModuleSpec> parseList(final String modules) {
+    return Arrays.stream(modules.replace(" ", "").split(","))
+      .filter(s -> !s.isEmpty())
+      .map(ModuleSpec::parse)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Parses a single module.
+   *
+   * @param spec module, i.e. {@code "mspt"} or {@code "mspt:ewma30s"}
+   * @return parsed module
+   * @throws IllegalArgumentException if the module type or option is invalid
+   */
+  public static ModuleSpec parse(final String spec) {
+    final int separator = spec.indexOf(':');
+    if (separator == -1) {
+      return new ModuleSpec(ModuleType.fromName(spec), null);
+    }
+    final ModuleType<?> type = ModuleType.fromName(spec.substring(0, separator));
+    final String option = spec.substring(separator + 1);
+    final Matcher matcher = EWMA.matcher(option);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(String.format("Unknown option '%s' for module type '%s'", option, type.name()));
+    }
+    if (!SmoothableModule.class.isAssignableFrom(type.moduleClass())) {
+      throw new IllegalArgumentException(String.format("Module type '%s' does not support smoothing", type.name()));
+    }
+    final long amount = Long.parseLong(matcher.group(1));
+    if (amount == 0) {
+      throw new IllegalArgumentException(String.format("Smoothing half-life must be positive for module type '%s'", type.name()));
+    }
+    return new ModuleSpec(type, halfLife(amount, matcher.group(2)));
+  }
+
+  private static Duration halfLife(final long amount, final String unit) {
+    switch (unit) {
+      case "ms":
+        return Duration.ofMillis(amount);
+      case "s":
+        return Duration.ofSeconds(amount);
+      case "m":
+        return Duration.ofMinutes(amount);
+      case "h":
+        return Duration.ofHours(amount);
+      default:
+        throw new IllegalArgumentException("Unknown unit: " + unit);
+    }
+  }
+
+  public ModuleType<?> type() {
+    return this.type;
+  }
+
+  public @Nullable Duration halfLife() {
+    return this.halfLife;
+  }
+
+  public Module createModule(final TabTPS tabTPS, final Theme theme, final @Nullable User<?> user) {
+    final Module module = this.type.createModule(tabTPS, theme, user);
+    if (this.halfLife != null) {
+      ((SmoothableModule) module).smoothing(this.halfLife);
+    }
+    return module;
+  }
+}
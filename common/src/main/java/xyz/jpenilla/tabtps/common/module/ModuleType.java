@@ -23,28 +23,38 @@
  */
 package xyz.jpenilla.tabtps.common.module;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.User;
 import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Metric;
 
 @NullMarked
 public final class ModuleType<T extends Module> {
   private static final Map<String, ModuleType<? extends Module>> TYPES_BY_NAME = new HashMap<>();
   private static final Map<Class<? extends Module>, ModuleType<? extends Module>> TYPES_BY_CLASS = new HashMap<>();
 
-  public static final ModuleType<CPUModule> CPU = withoutPlayer(CPUModule.class, CPUModule::new, "cpu");
+  public static final ModuleType<CPUModule> CPU = withoutPlayer(CPUModule.class, CPUModule::new, "cpu", Metric.CPU);
   public static final ModuleType<MemoryModule> MEMORY = withoutPlayer(MemoryModule.class, MemoryModule::new, "memory");
   public static final ModuleType<MSPTModule> MSPT = withoutPlayer(MSPTModule.class, MSPTModule::new, "mspt");
   public static final ModuleType<TPSModule> TPS = withoutPlayer(TPSModule.class, TPSModule::new, "tps");
-  public static final ModuleType<PingModule> PING = withPlayer(PingModule.class, PingModule::new, "ping");
+  public static final ModuleType<PingModule> PING = withPlayer(PingModule.class, PingModule::new, "ping", Metric.PING);
   public static final ModuleType<PlayerCountModule> PLAYER_COUNT = withoutPlayer(PlayerCountModule.class, PlayerCountModule::new, "players");
+  public static final ModuleType<WorldMSPTModule> WORLD_MSPT = withPlayer(WorldMSPTModule.class, WorldMSPTModule::new, "world_mspt");
+  public static final ModuleType<GCModule> GC = withoutPlayer(GCModule.class, GCModule::new, "gc");
+  public static final ModuleType<AllocationModule> ALLOC = withoutPlayer(AllocationModule.class, AllocationModule::new, "alloc", Metric.ALLOCATION);
+  public static final ModuleType<OffHeapModule> OFF_HEAP = withoutPlayer(OffHeapModule.class, OffHeapModule::new, "off_heap", Metric.NATIVE_MEMORY);
+  public static final ModuleType<PingAverageModule> PING_AVG = withPlayer(PingAverageModule.class, PingAverageModule::new, "ping_avg", Metric.PING);
+  public static final ModuleType<JitterModule> JITTER = withPlayer(JitterModule.class, JitterModule::new, "jitter", Metric.PING);
 
   public static Collection<ModuleType<?>> moduleTypes() {
     return Collections.unmodifiableCollection(TYPES_BY_NAME.values());
@@ -70,39 +80,45 @@ public final class ModuleType<T extends Module> {
   private static <T extends Module> ModuleType<T> withoutPlayer(
     final Class<T> moduleClass,
     final BiFunction<TabTPS, Theme, T> moduleFactory,
-    final String name
+    final String name,
+    final Metric... metrics
   ) {
     return new ModuleType<>(
       moduleClass,
       (plugin, theme, player) -> moduleFactory.apply(plugin, theme),
       name,
-      false
+      false,
+      metrics
     );
   }
 
   private static <T extends Module> ModuleType<T> withPlayer(
     final Class<T> moduleClass,
     final ModuleFactory<T> moduleFactory,
-    final String name
+    final String name,
+    final Metric... metrics
   ) {
-    return new ModuleType<>(moduleClass, moduleFactory, name, true);
+    return new ModuleType<>(moduleClass, moduleFactory, name, true, metrics);
   }
 
   private final Class<T> moduleClass;
   private final ModuleFactory<T> moduleFactory;
   private final String name;
   private final boolean needsPlayer;
+  private final Set<Metric> metrics;
 
   private ModuleType(
     final Class<T> moduleClass,
     final ModuleFactory<T> moduleFactory,
     final String name,
-    final boolean needsPlayer
+    final boolean needsPlayer,
+    final Metric[] metrics
   ) {
     this.moduleClass = moduleClass;
     this.moduleFactory = moduleFactory;
     this.name = name;
     this.needsPlayer = needsPlayer;
+    this.metrics = Collections.unmodifiableSet(metrics.length == 0 ? EnumSet.noneOf(Metric.class) : EnumSet.copyOf(Arrays.asList(metrics)));
     TYPES_BY_NAME.put(name, this);
     TYPES_BY_CLASS.put(moduleClass, this);
   }
@@ -115,6 +131,16 @@ public final class ModuleType<T extends Module> {
     return this.needsPlayer;
   }
 
+  /**
+   * Gets the background metrics modules of this type read, which must be subscribed to
+   * through {@link xyz.jpenilla.tabtps.common.util.MetricSamplers} while they are displayed.
+   *
+   * @return metrics
+   */
+  public Set<Metric> metrics() {
+    return this.metrics;
+  }
+
   public Class<T> moduleClass() {
     return this.moduleClass;
   }
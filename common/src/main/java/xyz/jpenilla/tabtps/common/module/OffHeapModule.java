@@ -0,0 +1,78 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.module;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.Messages;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Components;
+import xyz.jpenilla.tabtps.common.util.NativeMemoryMonitor;
+
+/**
+ * Shows direct buffer usage in megabytes, and the process resident set size when the platform reports it.
+ */
+@NullMarked
+public final class OffHeapModule extends AbstractModule {
+  public OffHeapModule(
+    final TabTPS tabTPS,
+    final Theme theme
+  ) {
+    super(tabTPS, theme);
+  }
+
+  @Override
+  public Component label() {
+    return Messages.LABEL_OFF_HEAP.styled(this.theme.colorScheme().text());
+  }
+
+  @Override
+  public Component display() {
+    final NativeMemoryMonitor.Snapshot snapshot = this.tabTPS.nativeMemoryMonitor().snapshot();
+    final TextComponent.Builder builder = Component.text()
+      .append(this.megabytes(snapshot.directBytes()))
+      .append(Component.text("M", this.theme.colorScheme().text()))
+      .append(Component.space())
+      .append(Messages.LABEL_DIRECT_SHORT_LOWER.styled(this.theme.colorScheme().textSecondary()));
+    if (snapshot.rssBytes() >= 0) {
+      builder.append(Component.text(",", this.theme.colorScheme().textSecondary()))
+        .append(Component.space())
+        .append(this.megabytes(snapshot.rssBytes()))
+        .append(Component.text("M", this.theme.colorScheme().text()))
+        .append(Component.space())
+        .append(Messages.LABEL_RSS_SHORT_LOWER.styled(this.theme.colorScheme().textSecondary()));
+    }
+    return builder.build();
+  }
+
+  private Component megabytes(final long bytes) {
+    return Components.gradient(
+      String.valueOf(bytes / (1024L * 1024L)),
+      this.theme.colorScheme().goodPerformance(),
+      this.theme.colorScheme().goodPerformanceSecondary()
+    );
+  }
+}
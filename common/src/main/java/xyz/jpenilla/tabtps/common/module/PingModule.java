@@ -23,17 +23,21 @@
  */
 package xyz.jpenilla.tabtps.common.module;
 
+import java.time.Duration;
 import net.kyori.adventure.text.Component;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.Messages;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.User;
 import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Ewma;
 import xyz.jpenilla.tabtps.common.util.PingUtil;
 
 @NullMarked
-public final class PingModule extends AbstractModule {
+public final class PingModule extends AbstractModule implements SmoothableModule {
   private final User<?> user;
+  private @Nullable Ewma ewma;
 
   public PingModule(
     final TabTPS tabTPS,
@@ -44,6 +48,11 @@ public final class PingModule extends AbstractModule {
     this.user = user;
   }
 
+  @Override
+  public void smoothing(final Duration halfLife) {
+    this.ewma = new Ewma(halfLife);
+  }
+
   @Override
   public Component label() {
     return Messages.LABEL_PING.styled(this.theme.colorScheme().text());
@@ -52,8 +61,13 @@ public final class PingModule extends AbstractModule {
   @Override
   public Component display() {
     return Component.text()
-      .append(PingUtil.coloredPing(this.user, this.theme.colorScheme()))
+      .append(PingUtil.coloredPing(this.ping(), this.theme.colorScheme()))
       .append(Messages.LABEL_MILLISECONDS_SHORT.styled(this.theme.colorScheme().textSecondary()))
       .build();
   }
+
+  private int ping() {
+    final int ping = this.tabTPS.pingMonitor().current(this.user);
+    return this.ewma == null ? ping : (int) Math.round(this.ewma.update(ping));
+  }
 }
@@ -23,15 +23,21 @@
  */
 package xyz.jpenilla.tabtps.common.module;
 
+import java.time.Duration;
 import net.kyori.adventure.text.Component;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.Messages;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.util.Ewma;
+import xyz.jpenilla.tabtps.common.util.MetricsSnapshot;
 import xyz.jpenilla.tabtps.common.util.TPSUtil;
 
 @NullMarked
-public final class TPSModule extends AbstractModule {
+public final class TPSModule extends AbstractModule implements SmoothableModule {
+  private @Nullable Ewma ewma;
+
   public TPSModule(
     final TabTPS tabTPS,
     final Theme theme
@@ -39,6 +45,11 @@ public final class TPSModule extends AbstractModule {
     super(tabTPS, theme);
   }
 
+  @Override
+  public void smoothing(final Duration halfLife) {
+    this.ewma = new Ewma(halfLife);
+  }
+
   @Override
   public Component label() {
     return Messages.LABEL_TPS.styled(this.theme.colorScheme().text());
@@ -46,6 +57,9 @@ public final class TPSModule extends AbstractModule {
 
   @Override
   public Component display() {
-    return TPSUtil.coloredTps(this.tabTPS.platform().tickTimeService().displayTps(), this.theme.colorScheme());
+    final MetricsSnapshot snapshot = this.tabTPS.platform().tickTimeService().snapshot();
+    // The moving average takes the place of the longer windows, so feed it the shortest one
+    final double tps = this.ewma == null ? snapshot.displayTps() : this.ewma.update(snapshot.tps(0));
+    return TPSUtil.coloredTps(tps, this.theme.colorScheme());
   }
 }
@@ -0,0 +1,74 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.module;
+
+import net.kyori.adventure.text.Component;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.Messages;
+import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.User;
+import xyz.jpenilla.tabtps.common.config.Theme;
+import xyz.jpenilla.tabtps.common.service.TickTimeService;
+import xyz.jpenilla.tabtps.common.service.WorldTickTimeService;
+import xyz.jpenilla.tabtps.common.util.TPSUtil;
+
+import static net.kyori.adventure.text.Component.text;
+
+@NullMarked
+public final class WorldMSPTModule extends AbstractModule {
+  private final User<?> user;
+
+  public WorldMSPTModule(
+    final TabTPS tabTPS,
+    final Theme theme,
+    final User<?> user
+  ) {
+    super(tabTPS, theme);
+    this.user = user;
+  }
+
+  @Override
+  public Component label() {
+    return Messages.LABEL_WORLD_MSPT.styled(this.theme.colorScheme().text());
+  }
+
+  @Override
+  public Component display() {
+    final @Nullable Double mspt = this.mspt();
+    if (mspt == null) {
+      return text("-", this.theme.colorScheme().textSecondary());
+    }
+    return TPSUtil.coloredMspt(mspt, this.theme.colorScheme());
+  }
+
+  private @Nullable Double mspt() {
+    final TickTimeService service = this.tabTPS.platform().tickTimeService();
+    final @Nullable String world = this.user.world();
+    if (!(service instanceof WorldTickTimeService) || world == null) {
+      return null;
+    }
+    return ((WorldTickTimeService) service).worldMspt().get(world);
+  }
+}
@@ -22,7 +22,9 @@
  * SOFTWARE.
  */
 package xyz.jpenilla.tabtps.common.service;
+
 import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.util.MetricsSnapshot;
 
 @NullMarked
 public interface TickTimeService {
@@ -37,4 +39,17 @@ public interface TickTimeService {
     }
     return recentTps[1];
   }
+
+  /**
+   * Gets the latest metrics snapshot. Displays should prefer this over querying the other
+   * methods, as platforms with a tick hook publish it once a second instead of recomputing
+   * the values on every call.
+   *
+   * <p>The default implementation captures a new snapshot on every call.</p>
+   *
+   * @return metrics snapshot
+   */
+  default MetricsSnapshot snapshot() {
+    return MetricsSnapshot.capture(this, 0);
+  }
 }
@@ -112,6 +112,7 @@ public abstract class UserService<P, U extends User<P>> {
     newUser.state().populate(oldUser.state());
     this.startEnabledDisplays(newUser);
     this.userMap.put(uuid, newUser);
+    this.platform.tabTPS().tickInfoWatchers().replaced(oldUser, newUser);
   }
 
   public final U user(final P base) {
@@ -158,9 +159,11 @@ public abstract class UserService<P, U extends User<P>> {
       throw new IllegalStateException("Cannot remove non-existing user " + uniqueId);
     }
     this.shutdownDisplays(removed);
+    this.platform.tabTPS().tickInfoWatchers().unwatch(removed);
     if (removed.shouldSave()) {
       this.saveUser(uniqueId, removed);
     }
+    this.platform.tabTPS().idleMode().update();
   }
 
   private void createEmptyFile(final Path file) {
@@ -174,12 +177,15 @@ public abstract class UserService<P, U extends User<P>> {
 
   public final void handleJoin(final P platformPlayer) {
     final U user = this.user(platformPlayer);
+    // Leave idle mode before any display subscribes to metrics
+    this.platform.tabTPS().idleMode().update();
 
     this.platform.tabTPS().findDisplayConfig(user).ifPresent(config -> {
       Stream.of(
         Pair.of(config.actionBarSettings(), user.actionBar()),
         Pair.of(config.bossBarSettings(), user.bossBar()),
-        Pair.of(config.tabSettings(), user.tab())
+        Pair.of(config.tabSettings(), user.tab()),
+        Pair.of(config.sidebarSettings(), user.sidebar())
       ).forEach(pair -> {
         if (pair.first().allow() && pair.first().enableOnLogin()) {
           pair.second().enabled(true);
@@ -0,0 +1,54 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.service;
+
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A {@link TickTimeService} which also tracks how long each world takes to tick.
+ */
+@NullMarked
+public interface WorldTickTimeService extends TickTimeService {
+  /**
+   * Gets the recent tick times of every loaded world in nanoseconds, keyed by world identifier
+   * (i.e. {@code minecraft:the_nether}).
+   *
+   * <p>The map and arrays are copies, republished from the server thread along with the
+   * {@link #snapshot() metrics snapshot}, so worlds loaded since may be missing. The arrays
+   * must not be modified.</p>
+   *
+   * @return tick times by world
+   */
+  Map<String, long[]> worldTickTimes();
+
+  /**
+   * Gets the average MSPT of every loaded world, keyed by world identifier.
+   *
+   * <p>Published with {@link #worldTickTimes()}, so reading it is a single volatile read.</p>
+   *
+   * @return average MSPT by world
+   */
+  Map<String, Double> worldMspt();
+}
@@ -0,0 +1,176 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Samples how fast the JVM allocates memory, overall and on the server thread.
+ *
+ * <p>Per-thread allocation counters are read in bulk once a second on a background thread,
+ * and the resulting rates are published as an immutable {@link Snapshot}, so displays only
+ * read a volatile field.</p>
+ */
+@NullMarked
+public final class AllocationMonitor implements MetricSamplers.Sampler {
+  private static final long INTERVAL_MILLIS = 1000L;
+
+  private final ScheduledExecutorService executor;
+  private final @Nullable ThreadMXBean threads;
+  private @Nullable Future<?> task;
+  private boolean running = false;
+  private long[] previousIds = new long[0];
+  private long[] previousBytes = new long[0];
+  private long previousTime;
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  public AllocationMonitor(final ScheduledExecutorService executor) {
+    this.executor = executor;
+    this.threads = supportedThreadMXBean();
+  }
+
+  private static @Nullable ThreadMXBean supportedThreadMXBean() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean)) {
+      return null;
+    }
+    final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+      return null;
+    }
+    return threads;
+  }
+
+  // start, stop and sample are synchronized, as a cancelled sample may still be running
+  @Override
+  public synchronized void start() {
+    if (this.threads == null) {
+      return;
+    }
+    this.running = true;
+    // Rates need two samples, don't compute one across the time we were stopped
+    this.previousIds = new long[0];
+    this.previousBytes = new long[0];
+    this.previousTime = 0L;
+    this.task = this.executor.scheduleAtFixedRate(this::sample, 0L, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    this.running = false;
+    if (this.task != null) {
+      this.task.cancel(false);
+      this.task = null;
+    }
+    this.snapshot = Snapshot.EMPTY;
+  }
+
+  /**
+   * Gets whether the JVM supports measuring per-thread allocations.
+   *
+   * @return whether allocation rates are available
+   */
+  public boolean supported() {
+    return this.threads != null;
+  }
+
+  /**
+   * Gets the most recently sampled allocation rates.
+   *
+   * @return snapshot
+   */
+  public Snapshot snapshot() {
+    return this.snapshot;
+  }
+
+  private synchronized void sample() {
+    final ThreadMXBean threads = this.threads;
+    if (threads == null || !this.running) {
+      return;
+    }
+    final long now = System.nanoTime();
+    final long[] ids = threads.getAllThreadIds();
+    Arrays.sort(ids);
+    final long[] bytes = threads.getThreadAllocatedBytes(ids);
+    final @Nullable Thread server = StallWatchdog.serverThread();
+    final long serverId = server == null ? -1L : server.getId();
+
+    long total = 0L;
+    long serverThread = 0L;
+    for (int i = 0; i < ids.length; i++) {
+      if (bytes[i] < 0L) {
+        // Thread died between listing and reading
+        continue;
+      }
+      // Threads which died since the last sample are left out, new threads count from zero
+      final int previous = Arrays.binarySearch(this.previousIds, ids[i]);
+      final long delta = bytes[i] - (previous >= 0 ? this.previousBytes[previous] : 0L);
+      if (delta > 0L) {
+        total += delta;
+        if (ids[i] == serverId) {
+          serverThread = delta;
+        }
+      }
+    }
+
+    if (this.previousTime != 0L) {
+      final double seconds = (now - this.previousTime) / 1.0E9D;
+      this.snapshot = new Snapshot(total / seconds, server == null ? -1.0D : serverThread / seconds);
+    }
+    this.previousIds = ids;
+    this.previousBytes = bytes;
+    this.previousTime = now;
+  }
+
+  public static final class Snapshot {
+    static final Snapshot EMPTY = new Snapshot(0.0D, -1.0D);
+
+    private final double bytesPerSecond;
+    private final double serverThreadBytesPerSecond;
+
+    Snapshot(final double bytesPerSecond, final double serverThreadBytesPerSecond) {
+      this.bytesPerSecond = bytesPerSecond;
+      this.serverThreadBytesPerSecond = serverThreadBytesPerSecond;
+    }
+
+    public double bytesPerSecond() {
+      return this.bytesPerSecond;
+    }
+
+    /**
+     * Gets the allocation rate of the server thread, or {@code -1} if the platform hasn't reported it yet.
+     *
+     * @return server thread bytes per second
+     */
+    public double serverThreadBytesPerSecond() {
+      return this.serverThreadBytesPerSecond;
+    }
+  }
+}
@@ -25,16 +25,16 @@ package xyz.jpenilla.tabtps.common.util;
 
 import com.sun.management.OperatingSystemMXBean;
 import java.lang.management.ManagementFactory;
+import java.util.Arrays;
 import java.util.DoubleSummaryStatistics;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
-public final class CPUMonitor {
+public final class CPUMonitor implements MetricSamplers.Sampler {
   private int index = 0;
   private volatile double recentProcessCpuLoadSnapshot = 0;
   private volatile double recentSystemCpuLoadSnapshot = 0;
@@ -42,18 +42,34 @@ public final class CPUMonitor {
   private final double[] recentProcessUsage = new double[20];
 
   private final ScheduledExecutorService executor;
-  private final Future<?> monitorTask;
+  private @Nullable Future<?> monitorTask;
+  private boolean running = false;
 
-  public CPUMonitor() {
-    final ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(1);
-    ex.setRemoveOnCancelPolicy(true);
-    this.executor = Executors.unconfigurableScheduledExecutorService(ex);
-    this.monitorTask = this.executor.scheduleAtFixedRate(this::recordUsage, 0L, 500L, TimeUnit.MILLISECONDS);
+  public CPUMonitor(final ScheduledExecutorService executor) {
+    this.executor = executor;
   }
 
-  public void shutdown() {
-    this.monitorTask.cancel(false);
-    this.executor.shutdown();
+  // start, stop and recordUsage are synchronized, as a cancelled sample may still be running
+  @Override
+  public synchronized void start() {
+    this.running = true;
+    this.index = 0;
+    Arrays.fill(this.recentProcessUsage, 0);
+    Arrays.fill(this.recentSystemUsage, 0);
+    // Sampling is cheap, take the first one right away so the caller has something to read
+    this.recordUsage();
+    this.monitorTask = this.executor.scheduleAtFixedRate(this::recordUsage, 500L, 500L, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    this.running = false;
+    if (this.monitorTask != null) {
+      this.monitorTask.cancel(false);
+      this.monitorTask = null;
+    }
+    this.recentProcessCpuLoadSnapshot = 0;
+    this.recentSystemCpuLoadSnapshot = 0;
   }
 
   private void nextIndex() {
@@ -63,7 +79,10 @@ public final class CPUMonitor {
     }
   }
 
-  private void recordUsage() {
+  private synchronized void recordUsage() {
+    if (!this.running) {
+      return;
+    }
     this.recentProcessUsage[this.index] = currentProcessCpuLoad();
     this.recentSystemUsage[this.index] = currentSystemCpuLoad();
     this.recentProcessCpuLoadSnapshot = this.recentProcessCpuLoad();
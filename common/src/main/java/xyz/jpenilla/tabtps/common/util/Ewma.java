@@ -0,0 +1,86 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.time.Duration;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * An exponentially weighted moving average with a fixed half-life.
+ *
+ * <p>Unlike {@link RollingAverage} and {@link TickTimes} this keeps no samples, only the
+ * current average. Updates may arrive at any interval, each sample is weighted by the time
+ * since the previous one, so the half-life is in wall time rather than in samples.</p>
+ */
+@NullMarked
+public final class Ewma {
+  private final double decayPerNano;
+  private double value = Double.NaN;
+  private long lastUpdate;
+
+  public Ewma(final Duration halfLife) {
+    if (halfLife.isNegative() || halfLife.isZero()) {
+      throw new IllegalArgumentException("Half-life must be positive, got " + halfLife);
+    }
+    this.decayPerNano = Math.log(2.0D) / halfLife.toNanos();
+  }
+
+  /**
+   * Adds a sample taken now.
+   *
+   * @param sample sample
+   * @return the updated average
+   */
+  public double update(final double sample) {
+    return this.update(sample, System.nanoTime());
+  }
+
+  /**
+   * Adds a sample.
+   *
+   * @param sample sample
+   * @param now when the sample was taken, comparable with {@link System#nanoTime()}
+   * @return the updated average
+   */
+  public synchronized double update(final double sample, final long now) {
+    if (Double.isNaN(this.value)) {
+      this.value = sample;
+    } else if (now - this.lastUpdate > 0) {
+      // 1 - 0.5^(elapsed / halfLife)
+      final double alpha = -Math.expm1(-(now - this.lastUpdate) * this.decayPerNano);
+      this.value += alpha * (sample - this.value);
+    }
+    this.lastUpdate = now;
+    return this.value;
+  }
+
+  /**
+   * Gets the current average.
+   *
+   * @return average, or {@link Double#NaN} if no samples were added yet
+   */
+  public synchronized double value() {
+    return this.value;
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Records garbage collection pauses from {@link GarbageCollectorMXBean} notifications.
+ *
+ * <p>Pauses are kept in a ring buffer along with their duration and how much memory they
+ * reclaimed. Collectors which run concurrently with the application (such as
+ * {@code G1 Concurrent GC} or {@code ZGC Cycles}) are skipped, as they don't stop the
+ * server thread.</p>
+ *
+ * <p>Platforms that know when each tick started report slow ticks through
+ * {@link #recordTick(long, long)}, so that they can be matched up with pauses.</p>
+ */
+@NullMarked
+public final class GCMonitor {
+  public static final int SLOW_TICK_HISTORY = 100;
+  private static final int PAUSE_CAPACITY = 256;
+  private static final long SLOW_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final long[] slowTickStarts = new long[SLOW_TICK_HISTORY];
+  private final long[] slowTickEnds = new long[SLOW_TICK_HISTORY];
+  private int slowTickIndex = 0;
+  private int slowTickCount = 0;
+  private volatile boolean tickHistory = false;
+
+  private final Pause[] pauses = new Pause[PAUSE_CAPACITY];
+  private int pauseIndex = 0;
+  private int pauseCount = 0;
+  private final List<Runnable> unregister = new ArrayList<>();
+
+  public GCMonitor() {
+    final NotificationListener listener = this::handleNotification;
+    for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (bean instanceof NotificationEmitter) {
+        final NotificationEmitter emitter = (NotificationEmitter) bean;
+        emitter.addNotificationListener(listener, null, null);
+        this.unregister.add(() -> {
+          try {
+            emitter.removeNotificationListener(listener);
+          } catch (final ListenerNotFoundException ignored) {
+            // Already removed
+          }
+        });
+      }
+    }
+  }
+
+  public void shutdown() {
+    this.unregister.forEach(Runnable::run);
+    this.unregister.clear();
+  }
+
+  /**
+   * Records a tick, keeping the last {@value #SLOW_TICK_HISTORY} that took longer than 50ms. Must be
+   * called from the server thread.
+   *
+   * @param startNanos {@link System#nanoTime()} at the start of the tick
+   * @param durationNanos tick duration in nanoseconds
+   */
+  public void recordTick(final long startNanos, final long durationNanos) {
+    this.tickHistory = true;
+    if (durationNanos < SLOW_TICK_NANOS) {
+      return;
+    }
+    synchronized (this.slowTickStarts) {
+      this.slowTickStarts[this.slowTickIndex] = startNanos;
+      this.slowTickEnds[this.slowTickIndex] = startNanos + durationNanos;
+      this.slowTickIndex = (this.slowTickIndex + 1) % SLOW_TICK_HISTORY;
+      this.slowTickCount = Math.min(this.slowTickCount + 1, SLOW_TICK_HISTORY);
+    }
+  }
+
+  /**
+   * Gets whether the platform reports ticks through {@link #recordTick(long, long)}.
+   *
+   * @return whether slow ticks are tracked
+   */
+  public boolean tickHistory() {
+    return this.tickHistory;
+  }
+
+  private void handleNotification(final Notification notification, final Object handback) {
+    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+      return;
+    }
+    final GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    final String name = info.getGcName();
+    if (name.contains("Concurrent") || name.contains("Cycles")) {
+      return;
+    }
+    // GcInfo start and end times don't share a clock with System#nanoTime or the runtime uptime, so
+    // place the pause relative to when the notification arrived. It is sent right after the collection
+    // ends, so this is usually within a few milliseconds.
+    final long received = System.nanoTime();
+    final GcInfo gcInfo = info.getGcInfo();
+    final long duration = TimeUnit.MILLISECONDS.toNanos(gcInfo.getDuration());
+    long reclaimed = 0L;
+    final Map<String, MemoryUsage> after = gcInfo.getMemoryUsageAfterGc();
+    for (final Map.Entry<String, MemoryUsage> before : gcInfo.getMemoryUsageBeforeGc().entrySet()) {
+      final MemoryUsage afterUsage = after.get(before.getKey());
+      if (afterUsage != null) {
+        reclaimed += before.getValue().getUsed() - afterUsage.getUsed();
+      }
+    }
+    this.add(new Pause(
+      name,
+      info.getGcCause(),
+      received - duration,
+      duration,
+      Math.max(0L, reclaimed)
+    ));
+  }
+
+  private synchronized void add(final Pause pause) {
+    this.pauses[this.pauseIndex] = pause;
+    this.pauseIndex = (this.pauseIndex + 1) % PAUSE_CAPACITY;
+    this.pauseCount = Math.min(this.pauseCount + 1, PAUSE_CAPACITY);
+  }
+
+  /**
+   * Gets the recorded pauses, newest first.
+   *
+   * @return pauses
+   */
+  public synchronized List<Pause> pauses() {
+    final List<Pause> pauses = new ArrayList<>(this.pauseCount);
+    for (int i = 1; i <= this.pauseCount; i++) {
+      pauses.add(this.pauses[Math.floorMod(this.pauseIndex - i, PAUSE_CAPACITY)]);
+    }
+    return pauses;
+  }
+
+  /**
+   * Summarizes the pauses which started within the given window.
+   *
+   * @param windowNanos window length in nanoseconds
+   * @return summary
+   */
+  public synchronized Summary summary(final long windowNanos) {
+    final long since = System.nanoTime() - windowNanos;
+    int count = 0;
+    long total = 0L;
+    long max = 0L;
+    long reclaimed = 0L;
+    for (int i = 1; i <= this.pauseCount; i++) {
+      final Pause pause = this.pauses[Math.floorMod(this.pauseIndex - i, PAUSE_CAPACITY)];
+      if (pause.startNanos() - since < 0L) {
+        break;
+      }
+      count++;
+      total += pause.durationNanos();
+      max = Math.max(max, pause.durationNanos());
+      reclaimed += pause.reclaimedBytes();
+    }
+    return new Summary(count, total, max, reclaimed);
+  }
+
+  /**
+   * Counts the slow ticks in the history, and how many of them overlapped a recorded pause.
+   *
+   * @return slow tick count and overlapping count
+   */
+  public SlowTicks slowTicks() {
+    final long[] starts;
+    final long[] ends;
+    synchronized (this.slowTickStarts) {
+      starts = new long[this.slowTickCount];
+      ends = new long[this.slowTickCount];
+      for (int i = 0; i < this.slowTickCount; i++) {
+        starts[i] = this.slowTickStarts[i];
+        ends[i] = this.slowTickEnds[i];
+      }
+    }
+    final List<Pause> pauses = this.pauses();
+    int overlapping = 0;
+    for (int i = 0; i < starts.length; i++) {
+      for (final Pause pause : pauses) {
+        if (pause.startNanos() - ends[i] < 0L && starts[i] - pause.endNanos() < 0L) {
+          overlapping++;
+          break;
+        }
+      }
+    }
+    return new SlowTicks(starts.length, overlapping);
+  }
+
+  public static final class Pause {
+    private final String collector;
+    private final String cause;
+    private final long startNanos;
+    private final long durationNanos;
+    private final long reclaimedBytes;
+
+    Pause(final String collector, final String cause, final long startNanos, final long durationNanos, final long reclaimedBytes) {
+      this.collector = collector;
+      this.cause = cause;
+      this.startNanos = startNanos;
+      this.durationNanos = durationNanos;
+      this.reclaimedBytes = reclaimedBytes;
+    }
+
+    public String collector() {
+      return this.collector;
+    }
+
+    public String cause() {
+      return this.cause;
+    }
+
+    /**
+     * Gets when this pause started, comparable with {@link System#nanoTime()}.
+     *
+     * @return start time
+     */
+    public long startNanos() {
+      return this.startNanos;
+    }
+
+    public long endNanos() {
+      return this.startNanos + this.durationNanos;
+    }
+
+    public long durationNanos() {
+      return this.durationNanos;
+    }
+
+    public long reclaimedBytes() {
+      return this.reclaimedBytes;
+    }
+  }
+
+  public static final class Summary {
+    private final int count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long reclaimedBytes;
+
+    Summary(final int count, final long totalNanos, final long maxNanos, final long reclaimedBytes) {
+      this.count = count;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+      this.reclaimedBytes = reclaimedBytes;
+    }
+
+    public int count() {
+      return this.count;
+    }
+
+    public long totalNanos() {
+      return this.totalNanos;
+    }
+
+    public long maxNanos() {
+      return this.maxNanos;
+    }
+
+    public long reclaimedBytes() {
+      return this.reclaimedBytes;
+    }
+  }
+
+  public static final class SlowTicks {
+    private final int count;
+    private final int overlappingGC;
+
+    SlowTicks(final int count, final int overlappingGC) {
+      this.count = count;
+      this.overlappingGC = overlappingGC;
+    }
+
+    public int count() {
+      return this.count;
+    }
+
+    public int overlappingGC() {
+      return this.overlappingGC;
+    }
+  }
+}
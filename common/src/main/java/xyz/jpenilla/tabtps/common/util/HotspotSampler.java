@@ -0,0 +1,378 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Samples how long entity and block entity ticks take, by chunk and by type, for a limited time.
+ *
+ * <p>A sampling session is started by command. While it runs, platform hooks time each
+ * entity and block entity tick and {@link #record record} it. Chunks are counted with a
+ * {@link SpaceSaving} top-K sketch per world, so memory stays bounded no matter how many
+ * chunks are loaded. Types are counted exactly in arrays indexed by registry id.</p>
+ *
+ * <p>Recording methods must only be called from the server thread. When no session is
+ * running the hooks only pay for a volatile read. Sessions are normally completed by the
+ * tick hook, and by a background task instead if the server is paused when time is up.</p>
+ */
+@NullMarked
+public final class HotspotSampler {
+  private static final int CHUNK_CAPACITY = 128;
+  private static final int REPORT_CHUNKS = 64;
+  private static final Kind[] KINDS = Kind.values();
+
+  private static volatile @Nullable HotspotSampler active;
+  private static volatile @Nullable Report lastReport;
+
+  private final long startedAt = System.nanoTime();
+  private final long duration;
+  private final IntFunction<String> entityTypeNames;
+  private final IntFunction<String> blockEntityTypeNames;
+  private final Map<String, SpaceSaving> chunks = new HashMap<>();
+  private final long[][] typeTimes = new long[KINDS.length][64];
+  private final int[][] typeCounts = new int[KINDS.length][64];
+  private final long[] totalTimes = new long[KINDS.length];
+  private @Nullable String lastWorld;
+  private @Nullable SpaceSaving lastChunks;
+  private @Nullable Future<?> expiry;
+
+  private HotspotSampler(
+    final Duration duration,
+    final IntFunction<String> entityTypeNames,
+    final IntFunction<String> blockEntityTypeNames
+  ) {
+    this.duration = duration.toNanos();
+    this.entityTypeNames = entityTypeNames;
+    this.blockEntityTypeNames = blockEntityTypeNames;
+  }
+
+  /**
+   * Starts a sampling session, unless one is already running.
+   *
+   * @param duration             how long to sample for
+   * @param executor             executor to complete the session on if the server stops ticking
+   * @param entityTypeNames      maps entity type registry ids to names
+   * @param blockEntityTypeNames maps block entity type registry ids to names
+   * @return whether a new session was started
+   */
+  public static synchronized boolean start(
+    final Duration duration,
+    final ScheduledExecutorService executor,
+    final IntFunction<String> entityTypeNames,
+    final IntFunction<String> blockEntityTypeNames
+  ) {
+    if (active != null) {
+      return false;
+    }
+    final HotspotSampler sampler = new HotspotSampler(duration, entityTypeNames, blockEntityTypeNames);
+    active = sampler;
+    // The tick hook doesn't run while the server is paused. Nothing is recorded then either,
+    // so the report can safely be built off the server thread
+    sampler.expiry = executor.scheduleWithFixedDelay(() -> {
+      if (IdleMode.serverPausedNow()) {
+        complete(sampler);
+      }
+    }, duration.toMillis(), 1000L, TimeUnit.MILLISECONDS);
+    return true;
+  }
+
+  /**
+   * Gets the running session, or {@code null} when not sampling.
+   *
+   * @return running session
+   */
+  public static @Nullable HotspotSampler active() {
+    return active;
+  }
+
+  /**
+   * Gets the report from the last completed session.
+   *
+   * @return last report
+   */
+  public static @Nullable Report lastReport() {
+    return lastReport;
+  }
+
+  /**
+   * Completes the running session once its time is up. Called by the platform at the end of each server tick.
+   */
+  public static void tick() {
+    final HotspotSampler sampler = active;
+    if (sampler == null || System.nanoTime() - sampler.startedAt < sampler.duration) {
+      return;
+    }
+    complete(sampler);
+  }
+
+  private static void complete(final HotspotSampler sampler) {
+    final @Nullable Future<?> expiry;
+    synchronized (HotspotSampler.class) {
+      if (active != sampler) {
+        return;
+      }
+      active = null;
+      expiry = sampler.expiry;
+    }
+    if (expiry != null) {
+      expiry.cancel(false);
+    }
+    lastReport = sampler.report();
+  }
+
+  /**
+   * Gets the time left in this session.
+   *
+   * @return remaining time
+   */
+  public Duration remaining() {
+    return Duration.ofNanos(Math.max(0L, this.duration - (System.nanoTime() - this.startedAt)));
+  }
+
+  public void record(
+    final Kind kind,
+    final String world,
+    final int chunkX,
+    final int chunkZ,
+    final int typeId,
+    final long nanos
+  ) {
+    SpaceSaving worldChunks = this.lastChunks;
+    if (worldChunks == null || !world.equals(this.lastWorld)) {
+      worldChunks = this.chunks.computeIfAbsent(world, w -> new SpaceSaving(CHUNK_CAPACITY));
+      this.lastWorld = world;
+      this.lastChunks = worldChunks;
+    }
+    worldChunks.add(chunkKey(chunkX, chunkZ), nanos);
+
+    final int k = kind.ordinal();
+    this.totalTimes[k] += nanos;
+    if (typeId < 0) {
+      return;
+    }
+    if (typeId >= this.typeTimes[k].length) {
+      final int size = Math.max(typeId + 1, this.typeTimes[k].length * 2);
+      this.typeTimes[k] = Arrays.copyOf(this.typeTimes[k], size);
+      this.typeCounts[k] = Arrays.copyOf(this.typeCounts[k], size);
+    }
+    this.typeTimes[k][typeId] += nanos;
+    this.typeCounts[k][typeId]++;
+  }
+
+  private Report report() {
+    final List<ChunkHotspot> chunks = new ArrayList<>();
+    this.chunks.forEach((world, sketch) -> {
+      for (final SpaceSaving.Entry entry : sketch.entries()) {
+        chunks.add(new ChunkHotspot(world, chunkX(entry.key()), chunkZ(entry.key()), entry.weight(), entry.error(), entry.count()));
+      }
+    });
+    chunks.sort(Comparator.comparingLong(ChunkHotspot::nanos).reversed());
+
+    final List<TypeHotspot> types = new ArrayList<>();
+    for (final Kind kind : KINDS) {
+      final IntFunction<String> names = kind == Kind.ENTITY ? this.entityTypeNames : this.blockEntityTypeNames;
+      final long[] times = this.typeTimes[kind.ordinal()];
+      final int[] counts = this.typeCounts[kind.ordinal()];
+      for (int id = 0; id < times.length; id++) {
+        if (counts[id] != 0) {
+          types.add(new TypeHotspot(kind, names.apply(id), times[id], counts[id]));
+        }
+      }
+    }
+    types.sort(Comparator.comparingLong(TypeHotspot::nanos).reversed());
+
+    return new Report(
+      Duration.ofNanos(System.nanoTime() - this.startedAt),
+      this.totalTimes[Kind.ENTITY.ordinal()],
+      this.totalTimes[Kind.BLOCK_ENTITY.ordinal()],
+      Collections.unmodifiableList(chunks.subList(0, Math.min(REPORT_CHUNKS, chunks.size()))),
+      Collections.unmodifiableList(types)
+    );
+  }
+
+  private static long chunkKey(final int x, final int z) {
+    return ((long) x & 0xFFFFFFFFL) | (((long) z & 0xFFFFFFFFL) << 32);
+  }
+
+  private static int chunkX(final long key) {
+    return (int) key;
+  }
+
+  private static int chunkZ(final long key) {
+    return (int) (key >>> 32);
+  }
+
+  public enum Kind {
+    ENTITY,
+    BLOCK_ENTITY;
+
+    public String displayName() {
+      return this.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+    }
+  }
+
+  public static final class Report {
+    private final Duration duration;
+    private final long entityNanos;
+    private final long blockEntityNanos;
+    private final List<ChunkHotspot> chunks;
+    private final List<TypeHotspot> types;
+
+    Report(
+      final Duration duration,
+      final long entityNanos,
+      final long blockEntityNanos,
+      final List<ChunkHotspot> chunks,
+      final List<TypeHotspot> types
+    ) {
+      this.duration = duration;
+      this.entityNanos = entityNanos;
+      this.blockEntityNanos = blockEntityNanos;
+      this.chunks = chunks;
+      this.types = types;
+    }
+
+    public Duration duration() {
+      return this.duration;
+    }
+
+    public long entityNanos() {
+      return this.entityNanos;
+    }
+
+    public long blockEntityNanos() {
+      return this.blockEntityNanos;
+    }
+
+    /**
+     * Gets the heaviest chunks across all worlds, heaviest first.
+     *
+     * @return chunks
+     */
+    public List<ChunkHotspot> chunks() {
+      return this.chunks;
+    }
+
+    /**
+     * Gets every sampled entity and block entity type, heaviest first.
+     *
+     * @return types
+     */
+    public List<TypeHotspot> types() {
+      return this.types;
+    }
+  }
+
+  public static final class ChunkHotspot {
+    private final String world;
+    private final int x;
+    private final int z;
+    private final long nanos;
+    private final long error;
+    private final int ticks;
+
+    ChunkHotspot(final String world, final int x, final int z, final long nanos, final long error, final int ticks) {
+      this.world = world;
+      this.x = x;
+      this.z = z;
+      this.nanos = nanos;
+      this.error = error;
+      this.ticks = ticks;
+    }
+
+    public String world() {
+      return this.world;
+    }
+
+    public int x() {
+      return this.x;
+    }
+
+    public int z() {
+      return this.z;
+    }
+
+    public long nanos() {
+      return this.nanos;
+    }
+
+    /**
+     * Gets the maximum amount {@link #nanos()} may be overestimated by.
+     *
+     * @return error
+     */
+    public long error() {
+      return this.error;
+    }
+
+    public int ticks() {
+      return this.ticks;
+    }
+  }
+
+  public static final class TypeHotspot {
+    private final Kind kind;
+    private final String type;
+    private final long nanos;
+    private final int ticks;
+
+    TypeHotspot(final Kind kind, final String type, final long nanos, final int ticks) {
+      this.kind = kind;
+      this.type = type;
+      this.nanos = nanos;
+      this.ticks = ticks;
+    }
+
+    public Kind kind() {
+      return this.kind;
+    }
+
+    public String type() {
+      return this.type;
+    }
+
+    public long nanos() {
+      return this.nanos;
+    }
+
+    public int ticks() {
+      return this.ticks;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Parks background work while nobody can see its results, i.e. while the server is paused
+ * because it's empty, or while no users are online.
+ *
+ * <p>Pauses are reported from the server thread through {@link #serverPaused()} and
+ * {@link #serverTicking()} on platforms which have them, and idle mode is entered right away.
+ * An empty server only becomes idle after {@value #EMPTY_DELAY_SECONDS} seconds, so that
+ * reloads and quick reconnects don't throw away sampler history.</p>
+ */
+@NullMarked
+public final class IdleMode {
+  private static final long EMPTY_DELAY_SECONDS = 30L;
+
+  private static volatile boolean paused = false;
+  private static volatile @Nullable IdleMode instance;
+
+  private final ScheduledExecutorService executor;
+  private final MetricSamplers samplers;
+  private final IntSupplier onlineUsers;
+  private boolean idle = false;
+  private boolean shutdown = false;
+  private @Nullable Future<?> pendingIdle;
+
+  public IdleMode(
+    final ScheduledExecutorService executor,
+    final MetricSamplers samplers,
+    final IntSupplier onlineUsers
+  ) {
+    this.executor = executor;
+    this.samplers = samplers;
+    this.onlineUsers = onlineUsers;
+    instance = this;
+    this.update();
+  }
+
+  /**
+   * Called from the server thread when the server pauses itself.
+   */
+  public static void serverPaused() {
+    if (!paused) {
+      paused = true;
+      notifyInstance();
+    }
+  }
+
+  /**
+   * Called from the server thread after every full tick. Only does work after a pause.
+   */
+  public static void serverTicking() {
+    if (paused) {
+      paused = false;
+      notifyInstance();
+    }
+  }
+
+  /**
+   * Gets whether the server paused itself and hasn't ticked since.
+   *
+   * @return whether the server is paused
+   */
+  public static boolean serverPausedNow() {
+    return paused;
+  }
+
+  private static void notifyInstance() {
+    final @Nullable IdleMode mode = instance;
+    if (mode != null) {
+      mode.update();
+    }
+  }
+
+  public synchronized boolean idle() {
+    return this.idle;
+  }
+
+  /**
+   * Re-evaluates idle mode, called whenever a user joins or leaves.
+   */
+  public synchronized void update() {
+    if (this.shutdown) {
+      return;
+    }
+    final boolean pausedNow = paused;
+    if (!pausedNow && this.onlineUsers.getAsInt() > 0) {
+      this.cancelPendingIdle();
+      if (this.idle) {
+        this.idle = false;
+        this.samplers.resume();
+      }
+      return;
+    }
+    if (this.idle) {
+      return;
+    }
+    if (pausedNow) {
+      this.enterIdle();
+    } else if (this.pendingIdle == null) {
+      this.pendingIdle = this.executor.schedule(this::enterIdleIfEmpty, EMPTY_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  public synchronized void shutdown() {
+    this.shutdown = true;
+    this.cancelPendingIdle();
+    if (instance == this) {
+      instance = null;
+    }
+  }
+
+  private synchronized void enterIdleIfEmpty() {
+    this.pendingIdle = null;
+    if (!this.shutdown && !this.idle && (paused || this.onlineUsers.getAsInt() == 0)) {
+      this.enterIdle();
+    }
+  }
+
+  private void enterIdle() {
+    this.cancelPendingIdle();
+    this.idle = true;
+    this.samplers.suspend();
+  }
+
+  private void cancelPendingIdle() {
+    if (this.pendingIdle != null) {
+      this.pendingIdle.cancel(false);
+      this.pendingIdle = null;
+    }
+  }
+}
@@ -27,10 +27,12 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryUsage;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.Messages;
@@ -47,6 +49,16 @@ import static net.kyori.adventure.text.format.TextDecoration.ITALIC;
 
 @NullMarked
 public final class MemoryUtil {
+  private static final int MAX_CACHED_BARS = 512;
+  private static final Component BAR_OPEN = text("[", GRAY);
+  private static final Component BAR_CLOSE = text("]", GRAY);
+  private static final Component INIT_POINTER = text("|", color(0xFF48A8));
+  private static final SegmentColors USED_COLORS = new SegmentColors(NamedTextColor.GREEN, NamedTextColor.DARK_GREEN);
+  private static final SegmentColors COMMITTED_COLORS = new SegmentColors(AQUA, BLUE);
+  private static final SegmentColors UNALLOCATED_COLORS = new SegmentColors(GRAY, NamedTextColor.DARK_GRAY);
+  // Bars are immutable, and only depend on the quantized segment lengths
+  private static final Map<Long, Component> BARS = new ConcurrentHashMap<>();
+
   private MemoryUtil() {
   }
 
@@ -85,12 +97,6 @@ public final class MemoryUtil {
     final int committedLength = Math.round(barLength * (committedPercent - usedPercent));
     final int unallocatedLength = barLength - usedLength - committedLength;
     final int initPointer = Math.min(barLength, Math.max(1, Math.round(barLength * initPercent)));
-    final Gradient usedGradient = new Gradient(NamedTextColor.GREEN, NamedTextColor.DARK_GREEN);
-    final Gradient committedGradient = new Gradient(AQUA, BLUE);
-    final Gradient unallocatedGradient = new Gradient(GRAY, NamedTextColor.DARK_GRAY);
-    usedGradient.length(usedLength);
-    committedGradient.length(committedLength);
-    unallocatedGradient.length(unallocatedLength);
 
     final TextComponent.Builder builder = text();
 
@@ -115,19 +121,7 @@ public final class MemoryUtil {
       .append(Messages.LABEL_INITIAL_AMOUNT);
     builder.hoverEvent(hover.build());
 
-    builder.append(text("[", GRAY));
-    IntStream.rangeClosed(1, barLength).forEach(i -> {
-      if (i == initPointer) {
-        builder.append(text("|", color(0xFF48A8)));
-      } else if (i <= usedLength) {
-        builder.append(text("|", usedGradient.nextColor()));
-      } else if (i <= usedLength + committedLength) {
-        builder.append(text("|", committedGradient.nextColor()));
-      } else {
-        builder.append(text("|", unallocatedGradient.nextColor()));
-      }
-    });
-    builder.append(text("]", GRAY));
+    builder.append(bar(barLength, usedLength, committedLength, unallocatedLength, initPointer));
     if (name != null && !name.isEmpty()) {
       builder.append(
         space(),
@@ -138,6 +132,49 @@ public final class MemoryUtil {
     return builder.build();
   }
 
+  private static Component bar(
+    final int barLength,
+    final int usedLength,
+    final int committedLength,
+    final int unallocatedLength,
+    final int initPointer
+  ) {
+    final long key = (long) (barLength & 0xFFFF) << 48
+      | (long) (usedLength & 0xFFFF) << 32
+      | (long) (committedLength & 0xFFFF) << 16
+      | initPointer & 0xFFFF;
+    final Component cached = BARS.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    if (BARS.size() >= MAX_CACHED_BARS) {
+      BARS.clear();
+    }
+
+    final TextColor[] used = USED_COLORS.colors(usedLength);
+    final TextColor[] committed = COMMITTED_COLORS.colors(committedLength);
+    final TextColor[] unallocated = UNALLOCATED_COLORS.colors(unallocatedLength);
+    int usedIndex = 0;
+    int committedIndex = 0;
+    int unallocatedIndex = 0;
+    final TextComponent.Builder builder = text().append(BAR_OPEN);
+    for (int i = 1; i <= barLength; i++) {
+      // The init pointer takes the place of a segment character without advancing its gradient
+      if (i == initPointer) {
+        builder.append(INIT_POINTER);
+      } else if (i <= usedLength) {
+        builder.append(text("|", used[usedIndex++]));
+      } else if (i <= usedLength + committedLength) {
+        builder.append(text("|", committed[committedIndex++]));
+      } else {
+        builder.append(text("|", unallocated[unallocatedIndex++]));
+      }
+    }
+    final Component bar = builder.append(BAR_CLOSE).build();
+    BARS.put(key, bar);
+    return bar;
+  }
+
   public static Component humanReadableByteCountBin(final long bytes) {
     final long absB = bytes == Long.MIN_VALUE ? Long.MAX_VALUE : Math.abs(bytes);
     if (absB < 1024) {
@@ -158,4 +195,32 @@ public final class MemoryUtil {
       text(String.format("%ciB", ci.current()), GRAY)
     );
   }
+
+  /**
+   * Precomputed {@link Gradient} colors for each segment length.
+   */
+  private static final class SegmentColors {
+    private final TextColor from;
+    private final TextColor to;
+    private final Map<Integer, TextColor[]> byLength = new ConcurrentHashMap<>();
+
+    SegmentColors(final TextColor from, final TextColor to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    TextColor[] colors(final int length) {
+      return this.byLength.computeIfAbsent(Math.max(0, length), this::compute);
+    }
+
+    private TextColor[] compute(final int length) {
+      final Gradient gradient = new Gradient(this.from, this.to);
+      gradient.length(length);
+      final TextColor[] colors = new TextColor[length];
+      for (int i = 0; i < length; i++) {
+        colors[i] = gradient.nextColor();
+      }
+      return colors;
+    }
+  }
 }
@@ -0,0 +1,248 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Runs background samplers only while something consumes their metric.
+ *
+ * <p>Displays hold a {@link Subscription} for as long as they are shown, and commands ask for
+ * a {@linkplain #burst(Metric) burst} when they read a metric once. A sampler starts with its
+ * first consumer and stops {@value #LINGER_SECONDS} seconds after the last one is gone, so
+ * reloads and repeated commands don't throw away its history.</p>
+ *
+ * <p>While {@linkplain #suspend() suspended}, subscriptions are still counted but no sampler
+ * runs, except for bursts, which are explicit requests for data.</p>
+ */
+@NullMarked
+public final class MetricSamplers {
+  private static final long LINGER_SECONDS = 30L;
+
+  private final ScheduledExecutorService executor;
+  private final Map<Metric, State> states = new EnumMap<>(Metric.class);
+  private boolean shutdown = false;
+  private boolean suspended = false;
+
+  public MetricSamplers(final ScheduledExecutorService executor) {
+    this.executor = executor;
+  }
+
+  public synchronized void register(final Metric metric, final Sampler sampler) {
+    if (this.states.containsKey(metric)) {
+      throw new IllegalArgumentException("A sampler is already registered for " + metric);
+    }
+    this.states.put(metric, new State(sampler));
+  }
+
+  /**
+   * Subscribes to the given metrics, starting their samplers if needed. The subscription
+   * must be {@linkplain Subscription#close() closed} once the metrics are no longer read.
+   *
+   * @param metrics metrics
+   * @return subscription
+   */
+  public Subscription subscribe(final Collection<Metric> metrics) {
+    final Set<Metric> set = metrics.isEmpty() ? EnumSet.noneOf(Metric.class) : EnumSet.copyOf(metrics);
+    synchronized (this) {
+      for (final Metric metric : set) {
+        final State state = this.state(metric);
+        state.subscribers++;
+        this.start(state, false);
+      }
+    }
+    return new Subscription(set);
+  }
+
+  /**
+   * Makes sure a metric is being sampled for a one-off read. If nothing is subscribed to it,
+   * its sampler keeps running for a short while in case it's read again.
+   *
+   * @param metric metric
+   * @return whether the sampler was already running, if not, there is no data to read yet
+   */
+  public synchronized boolean burst(final Metric metric) {
+    final State state = this.state(metric);
+    final boolean running = state.running;
+    this.start(state, true);
+    if (state.subscribers == 0) {
+      this.scheduleStop(state);
+    }
+    return running;
+  }
+
+  public synchronized boolean running(final Metric metric) {
+    return this.state(metric).running;
+  }
+
+  /**
+   * Stops every sampler until {@link #resume()} is called.
+   */
+  public synchronized void suspend() {
+    if (this.suspended) {
+      return;
+    }
+    this.suspended = true;
+    for (final State state : this.states.values()) {
+      this.cancelStop(state);
+      if (state.running) {
+        state.sampler.stop();
+        state.running = false;
+      }
+    }
+  }
+
+  /**
+   * Restarts the samplers which still have subscribers after {@link #suspend()}.
+   */
+  public synchronized void resume() {
+    if (!this.suspended) {
+      return;
+    }
+    this.suspended = false;
+    for (final State state : this.states.values()) {
+      if (state.subscribers > 0) {
+        this.start(state, false);
+      }
+    }
+  }
+
+  public synchronized void shutdown() {
+    this.shutdown = true;
+    for (final State state : this.states.values()) {
+      this.cancelStop(state);
+      if (state.running) {
+        state.sampler.stop();
+        state.running = false;
+      }
+    }
+  }
+
+  private synchronized void release(final Set<Metric> metrics) {
+    for (final Metric metric : metrics) {
+      final State state = this.state(metric);
+      if (--state.subscribers == 0) {
+        this.scheduleStop(state);
+      }
+    }
+  }
+
+  private State state(final Metric metric) {
+    final State state = this.states.get(metric);
+    if (state == null) {
+      throw new IllegalArgumentException("No sampler registered for " + metric);
+    }
+    return state;
+  }
+
+  private void start(final State state, final boolean burst) {
+    this.cancelStop(state);
+    if (!state.running && !this.shutdown && (burst || !this.suspended)) {
+      state.sampler.start();
+      state.running = true;
+    }
+  }
+
+  private void scheduleStop(final State state) {
+    this.cancelStop(state);
+    if (this.shutdown) {
+      return;
+    }
+    state.stopAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(LINGER_SECONDS);
+    state.pendingStop = this.executor.schedule(() -> this.stopIfUnused(state), LINGER_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private void cancelStop(final State state) {
+    if (state.pendingStop != null) {
+      state.pendingStop.cancel(false);
+      state.pendingStop = null;
+    }
+  }
+
+  private synchronized void stopIfUnused(final State state) {
+    // A stop that was cancelled after it started running may still get here, so check the deadline
+    if (state.subscribers > 0 || !state.running || System.nanoTime() - state.stopAt < 0) {
+      return;
+    }
+    state.pendingStop = null;
+    state.sampler.stop();
+    state.running = false;
+  }
+
+  /**
+   * Samples a {@link Metric} in the background. {@link #start()} and {@link #stop()} are
+   * called alternately, never concurrently.
+   */
+  public interface Sampler {
+    /**
+     * Starts sampling from scratch.
+     */
+    void start();
+
+    /**
+     * Stops sampling. Values read afterwards are empty until the sampler is started again.
+     */
+    void stop();
+  }
+
+  public final class Subscription {
+    private final Set<Metric> metrics;
+    private boolean closed = false;
+
+    private Subscription(final Set<Metric> metrics) {
+      this.metrics = metrics;
+    }
+
+    public void close() {
+      synchronized (MetricSamplers.this) {
+        if (this.closed) {
+          return;
+        }
+        this.closed = true;
+        MetricSamplers.this.release(this.metrics);
+      }
+    }
+  }
+
+  private static final class State {
+    private final Sampler sampler;
+    private int subscribers = 0;
+    private boolean running = false;
+    private long stopAt;
+    private @Nullable Future<?> pendingStop;
+
+    private State(final Sampler sampler) {
+      this.sampler = sampler;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.util.Arrays;
+import org.jspecify.annotations.NullMarked;
+import xyz.jpenilla.tabtps.common.service.TickTimeService;
+
+/**
+ * An immutable view of the server's tick metrics at one point in time.
+ *
+ * <p>Platforms with a tick hook publish a new snapshot from the server thread once every
+ * {@link RollingAverage#SAMPLE_INTERVAL} ticks, which is as often as the TPS averages
+ * change, so readers only pay for a single volatile read.</p>
+ */
+@NullMarked
+public final class MetricsSnapshot {
+  public static final MetricsSnapshot EMPTY = new MetricsSnapshot(
+    new double[]{RollingAverage.TPS, RollingAverage.TPS, RollingAverage.TPS, RollingAverage.TPS},
+    0.0D,
+    -1.0D,
+    0,
+    0L
+  );
+
+  private final double[] tps;
+  private final double averageMspt;
+  private final double maxMspt;
+  private final int tickCount;
+  private final long timestamp;
+
+  private MetricsSnapshot(
+    final double[] tps,
+    final double averageMspt,
+    final double maxMspt,
+    final int tickCount,
+    final long timestamp
+  ) {
+    this.tps = tps;
+    this.averageMspt = averageMspt;
+    this.maxMspt = maxMspt;
+    this.tickCount = tickCount;
+    this.timestamp = timestamp;
+  }
+
+  /**
+   * Creates a snapshot.
+   *
+   * @param tps TPS averages, see {@link TickTimeService#recentTps()}. Not copied, must not be modified afterwards
+   * @param averageMspt average MSPT
+   * @param maxMspt maximum MSPT over the last 5 seconds, or {@code -1} if unknown
+   * @param tickCount server tick count
+   * @return snapshot
+   */
+  public static MetricsSnapshot of(final double[] tps, final double averageMspt, final double maxMspt, final int tickCount) {
+    return new MetricsSnapshot(tps, averageMspt, maxMspt, tickCount, System.nanoTime());
+  }
+
+  /**
+   * Captures a snapshot by querying a {@link TickTimeService} directly.
+   *
+   * @param service tick time service
+   * @param tickCount server tick count
+   * @return snapshot
+   */
+  public static MetricsSnapshot capture(final TickTimeService service, final int tickCount) {
+    return of(service.recentTps().clone(), service.averageMspt(), -1.0D, tickCount);
+  }
+
+  /**
+   * Gets the number of TPS averages, {@code 4} (5s, 1m, 5m, 15m) or {@code 3} (1m, 5m, 15m).
+   *
+   * @return number of TPS averages
+   */
+  public int tpsWindows() {
+    return this.tps.length;
+  }
+
+  public double tps(final int window) {
+    return this.tps[window];
+  }
+
+  /**
+   * Gets a copy of the TPS averages.
+   *
+   * @return TPS averages
+   */
+  public double[] recentTps() {
+    return this.tps.clone();
+  }
+
+  /**
+   * Gets the TPS average shown in displays, the shortest window of at least one minute.
+   *
+   * @return display TPS
+   */
+  public double displayTps() {
+    return this.tps.length == 3 ? this.tps[0] : this.tps[1];
+  }
+
+  public double averageMspt() {
+    return this.averageMspt;
+  }
+
+  /**
+   * Gets the longest tick over the last 5 seconds in milliseconds, or {@code -1} if the platform doesn't report it.
+   *
+   * @return max MSPT
+   */
+  public double maxMspt() {
+    return this.maxMspt;
+  }
+
+  public int tickCount() {
+    return this.tickCount;
+  }
+
+  /**
+   * Gets when this snapshot was taken, comparable with {@link System#nanoTime()}.
+   *
+   * @return timestamp
+   */
+  public long timestamp() {
+    return this.timestamp;
+  }
+
+  @Override
+  public String toString() {
+    return "MetricsSnapshot{tps=" + Arrays.toString(this.tps)
+      + ", averageMspt=" + this.averageMspt
+      + ", maxMspt=" + this.maxMspt
+      + ", tickCount=" + this.tickCount + "}";
+  }
+}
@@ -0,0 +1,313 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Samples memory the heap pools don't cover: NIO buffer pools, the process resident set
+ * size, and the Native Memory Tracking summary when the JVM was started with
+ * {@code -XX:NativeMemoryTracking=summary} (or {@code detail}).
+ *
+ * <p>Samples are taken on a background thread and published as an immutable
+ * {@link Snapshot}. The NMT summary is much more expensive to produce than the rest, so it
+ * is only refreshed every {@value #NMT_EVERY} samples.</p>
+ */
+@NullMarked
+public final class NativeMemoryMonitor implements MetricSamplers.Sampler {
+  private static final long INTERVAL_SECONDS = 5L;
+  private static final int NMT_EVERY = 6;
+  private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+  private static final Pattern NMT_TOTAL = Pattern.compile("^Total: reserved=(\\d+)KB, committed=(\\d+)KB");
+  private static final Pattern NMT_CATEGORY = Pattern.compile("^-\\s+(.+?) \\(reserved=(\\d+)KB, committed=(\\d+)KB");
+
+  private static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), -1L, null);
+
+  private final List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+  private final ScheduledExecutorService executor;
+  private @Nullable Future<?> task;
+  private boolean running = false;
+  private boolean rssAvailable = Files.isReadable(PROC_STATUS);
+  private boolean nmtAvailable = true;
+  private int samples = 0;
+  private volatile Snapshot snapshot = EMPTY;
+
+  public NativeMemoryMonitor(final ScheduledExecutorService executor) {
+    this.executor = executor;
+  }
+
+  // start, stop and sample are synchronized, as a cancelled sample may still be running
+  @Override
+  public synchronized void start() {
+    this.running = true;
+    this.samples = 0;
+    this.task = this.executor.scheduleAtFixedRate(this::sample, 0L, INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    this.running = false;
+    if (this.task != null) {
+      this.task.cancel(false);
+      this.task = null;
+    }
+    this.snapshot = EMPTY;
+  }
+
+  /**
+   * Gets the most recent sample.
+   *
+   * @return snapshot
+   */
+  public Snapshot snapshot() {
+    return this.snapshot;
+  }
+
+  private synchronized void sample() {
+    if (!this.running) {
+      return;
+    }
+    final List<BufferPool> pools = new ArrayList<>(this.bufferPools.size());
+    for (final BufferPoolMXBean pool : this.bufferPools) {
+      pools.add(new BufferPool(pool.getName(), pool.getCount(), pool.getMemoryUsed(), pool.getTotalCapacity()));
+    }
+    final long rss = this.rssAvailable ? this.readRss() : -1L;
+    @Nullable NativeMemorySummary nmt = this.snapshot.nativeMemory();
+    if (this.nmtAvailable && this.samples++ % NMT_EVERY == 0) {
+      nmt = this.readNativeMemorySummary();
+    }
+    this.snapshot = new Snapshot(Collections.unmodifiableList(pools), rss, nmt);
+  }
+
+  private long readRss() {
+    try (final BufferedReader reader = Files.newBufferedReader(PROC_STATUS, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("VmRSS:")) {
+          // i.e. "VmRSS:	  123456 kB"
+          final String value = line.substring("VmRSS:".length()).trim();
+          final int space = value.indexOf(' ');
+          return Long.parseLong(space == -1 ? value : value.substring(0, space)) * 1024L;
+        }
+      }
+    } catch (final IOException | NumberFormatException e) {
+      this.rssAvailable = false;
+    }
+    return -1L;
+  }
+
+  private @Nullable NativeMemorySummary readNativeMemorySummary() {
+    final String output;
+    try {
+      output = String.valueOf(ManagementFactory.getPlatformMBeanServer().invoke(
+        new ObjectName("com.sun.management:type=DiagnosticCommand"),
+        "vmNativeMemory",
+        new Object[]{new String[]{"summary"}},
+        new String[]{String[].class.getName()}
+      ));
+    } catch (final JMException | RuntimeException e) {
+      this.nmtAvailable = false;
+      return null;
+    }
+    final NativeMemorySummary summary = NativeMemorySummary.parse(output);
+    if (summary == null) {
+      // NMT can't be turned on at runtime, so don't keep asking
+      this.nmtAvailable = false;
+    }
+    return summary;
+  }
+
+  public static final class Snapshot {
+    private final List<BufferPool> bufferPools;
+    private final long rssBytes;
+    private final @Nullable NativeMemorySummary nativeMemory;
+
+    Snapshot(final List<BufferPool> bufferPools, final long rssBytes, final @Nullable NativeMemorySummary nativeMemory) {
+      this.bufferPools = bufferPools;
+      this.rssBytes = rssBytes;
+      this.nativeMemory = nativeMemory;
+    }
+
+    public List<BufferPool> bufferPools() {
+      return this.bufferPools;
+    }
+
+    public long directBytes() {
+      for (final BufferPool pool : this.bufferPools) {
+        if (pool.name().equals("direct")) {
+          return pool.usedBytes();
+        }
+      }
+      return 0L;
+    }
+
+    /**
+     * Gets the resident set size of the process, or {@code -1} when it can't be read (i.e. not on Linux).
+     *
+     * @return rss in bytes
+     */
+    public long rssBytes() {
+      return this.rssBytes;
+    }
+
+    /**
+     * Gets the Native Memory Tracking summary, or {@code null} when NMT is not enabled.
+     *
+     * @return summary
+     */
+    public @Nullable NativeMemorySummary nativeMemory() {
+      return this.nativeMemory;
+    }
+  }
+
+  public static final class BufferPool {
+    private final String name;
+    private final long count;
+    private final long usedBytes;
+    private final long capacityBytes;
+
+    BufferPool(final String name, final long count, final long usedBytes, final long capacityBytes) {
+      this.name = name;
+      this.count = count;
+      this.usedBytes = usedBytes;
+      this.capacityBytes = capacityBytes;
+    }
+
+    public String name() {
+      return this.name;
+    }
+
+    public long count() {
+      return this.count;
+    }
+
+    public long usedBytes() {
+      return this.usedBytes;
+    }
+
+    public long capacityBytes() {
+      return this.capacityBytes;
+    }
+  }
+
+  public static final class NativeMemorySummary {
+    private final long reservedBytes;
+    private final long committedBytes;
+    private final List<NativeMemoryCategory> categories;
+
+    NativeMemorySummary(final long reservedBytes, final long committedBytes, final List<NativeMemoryCategory> categories) {
+      this.reservedBytes = reservedBytes;
+      this.committedBytes = committedBytes;
+      this.categories = categories;
+    }
+
+    static @Nullable NativeMemorySummary parse(final String output) {
+      long reserved = -1L;
+      long committed = -1L;
+      final List<NativeMemoryCategory> categories = new ArrayList<>();
+      for (final String line : output.split("\n")) {
+        final Matcher total = NMT_TOTAL.matcher(line.trim());
+        if (total.find()) {
+          reserved = Long.parseLong(total.group(1)) * 1024L;
+          committed = Long.parseLong(total.group(2)) * 1024L;
+          continue;
+        }
+        final Matcher category = NMT_CATEGORY.matcher(line);
+        if (category.find()) {
+          categories.add(new NativeMemoryCategory(
+            category.group(1).trim(),
+            Long.parseLong(category.group(2)) * 1024L,
+            Long.parseLong(category.group(3)) * 1024L
+          ));
+        }
+      }
+      if (committed == -1L) {
+        return null;
+      }
+      categories.sort(Comparator.comparingLong(NativeMemoryCategory::committedBytes).reversed());
+      return new NativeMemorySummary(reserved, committed, Collections.unmodifiableList(categories));
+    }
+
+    public long reservedBytes() {
+      return this.reservedBytes;
+    }
+
+    public long committedBytes() {
+      return this.committedBytes;
+    }
+
+    /**
+     * Gets the NMT categories, largest committed first.
+     *
+     * @return categories
+     */
+    public List<NativeMemoryCategory> categories() {
+      return this.categories;
+    }
+  }
+
+  public static final class NativeMemoryCategory {
+    private final String name;
+    private final long reservedBytes;
+    private final long committedBytes;
+
+    NativeMemoryCategory(final String name, final long reservedBytes, final long committedBytes) {
+      this.name = name;
+      this.reservedBytes = reservedBytes;
+      this.committedBytes = committedBytes;
+    }
+
+    public String name() {
+      return this.name;
+    }
+
+    public long reservedBytes() {
+      return this.reservedBytes;
+    }
+
+    public long committedBytes() {
+      return this.committedBytes;
+    }
+  }
+}
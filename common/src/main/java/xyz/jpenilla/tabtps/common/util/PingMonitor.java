@@ -0,0 +1,201 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.TabTPSPlatform;
+import xyz.jpenilla.tabtps.common.User;
+
+/**
+ * Samples the latency of every online user once a second into a per-user ring.
+ *
+ * <p>Displays read the precomputed {@link Stats} instead of asking the platform for a
+ * player's ping on every render. The platform value is itself smoothed by the client
+ * connection, so {@linkplain Stats#jitter() jitter} is measured between our samples.</p>
+ */
+@NullMarked
+public final class PingMonitor implements MetricSamplers.Sampler {
+  public static final int HISTORY_SECONDS = 60;
+  private static final long INTERVAL_MILLIS = 1000L;
+
+  private final ScheduledExecutorService executor;
+  private final TabTPSPlatform<?, ?> platform;
+  private final Map<UUID, History> histories = new ConcurrentHashMap<>();
+  private @Nullable Future<?> task;
+  private boolean running = false;
+
+  public PingMonitor(final ScheduledExecutorService executor, final TabTPSPlatform<?, ?> platform) {
+    this.executor = executor;
+    this.platform = platform;
+  }
+
+  // start, stop and sample are synchronized, as a cancelled sample may still be running
+  @Override
+  public synchronized void start() {
+    this.running = true;
+    this.task = this.executor.scheduleAtFixedRate(this::sample, 0L, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    this.running = false;
+    if (this.task != null) {
+      this.task.cancel(false);
+      this.task = null;
+    }
+    this.histories.clear();
+  }
+
+  /**
+   * Gets the sampled latency statistics for a user.
+   *
+   * @param user user
+   * @return stats, or {@code null} if the user hasn't been sampled yet
+   */
+  public @Nullable Stats stats(final User<?> user) {
+    final @Nullable History history = this.histories.get(user.uuid());
+    return history == null ? null : history.stats;
+  }
+
+  /**
+   * Gets the latest sampled ping of a user, falling back to asking the platform when
+   * the user hasn't been sampled yet.
+   *
+   * @param user user
+   * @return ping in milliseconds
+   */
+  public int current(final User<?> user) {
+    final @Nullable Stats stats = this.stats(user);
+    return stats == null ? user.ping() : stats.current();
+  }
+
+  private synchronized void sample() {
+    if (!this.running) {
+      return;
+    }
+    final Map<UUID, ? extends User<?>> users = this.platform.userService().userStorage();
+    for (final User<?> user : users.values()) {
+      this.histories.computeIfAbsent(user.uuid(), uuid -> new History()).record(user.ping());
+    }
+    this.histories.keySet().removeIf(uuid -> !users.containsKey(uuid));
+  }
+
+  private static final class History {
+    private final int[] samples = new int[HISTORY_SECONDS];
+    private final int[] sorted = new int[HISTORY_SECONDS];
+    private int index = 0;
+    private int count = 0;
+    private volatile @Nullable Stats stats;
+
+    // Only called from the sampling task
+    void record(final int ping) {
+      this.samples[this.index] = ping;
+      this.index = (this.index + 1) % this.samples.length;
+      if (this.count < this.samples.length) {
+        this.count++;
+      }
+
+      long total = 0L;
+      long jitter = 0L;
+      // Oldest sample first
+      final int start = this.count < this.samples.length ? 0 : this.index;
+      int previous = this.samples[start];
+      for (int i = 0; i < this.count; i++) {
+        final int sample = this.samples[(start + i) % this.samples.length];
+        total += sample;
+        jitter += Math.abs(sample - previous);
+        previous = sample;
+        this.sorted[i] = sample;
+      }
+      Arrays.sort(this.sorted, 0, this.count);
+      final int p95 = this.sorted[Math.min(this.count - 1, (int) Math.ceil(this.count * 0.95D) - 1)];
+      this.stats = new Stats(
+        ping,
+        (double) total / this.count,
+        p95,
+        this.count > 1 ? (double) jitter / (this.count - 1) : 0.0D,
+        this.count
+      );
+    }
+  }
+
+  public static final class Stats {
+    private final int current;
+    private final double average;
+    private final int p95;
+    private final double jitter;
+    private final int samples;
+
+    Stats(final int current, final double average, final int p95, final double jitter, final int samples) {
+      this.current = current;
+      this.average = average;
+      this.p95 = p95;
+      this.jitter = jitter;
+      this.samples = samples;
+    }
+
+    public int current() {
+      return this.current;
+    }
+
+    public double average() {
+      return this.average;
+    }
+
+    /**
+     * Gets the 95th percentile of the sampled pings.
+     *
+     * @return 95th percentile in milliseconds
+     */
+    public int p95() {
+      return this.p95;
+    }
+
+    /**
+     * Gets the mean absolute difference between consecutive samples.
+     *
+     * @return jitter in milliseconds
+     */
+    public double jitter() {
+      return this.jitter;
+    }
+
+    /**
+     * Gets how many samples the stats cover, up to {@value PingMonitor#HISTORY_SECONDS}, one per second.
+     *
+     * @return sample count
+     */
+    public int samples() {
+      return this.samples;
+    }
+  }
+}
@@ -54,4 +54,20 @@ public final class PingUtil {
     }
     return Components.gradient(String.valueOf(ping), color1, color2);
   }
+
+  public static Component coloredJitter(final int jitter, final Theme.Colors colors) {
+    final TextColor color1;
+    final TextColor color2;
+    if (jitter < 20) {
+      color1 = colors.goodPerformance();
+      color2 = colors.goodPerformanceSecondary();
+    } else if (jitter < 50) {
+      color1 = colors.mediumPerformance();
+      color2 = colors.mediumPerformanceSecondary();
+    } else {
+      color1 = colors.lowPerformance();
+      color2 = colors.lowPerformanceSecondary();
+    }
+    return Components.gradient(String.valueOf(jitter), color1, color2);
+  }
 }
@@ -0,0 +1,102 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.util.Arrays;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+public final class Selection {
+  private Selection() {
+  }
+
+  /**
+   * Rearranges {@code values} so that the range {@code [from, to)} holds exactly the values
+   * it would hold if the whole array were sorted, in sorted order. Values outside the range
+   * are only partitioned around it.
+   *
+   * <p>Runs in expected {@code O(n + k log k)} for a range of {@code k} values, instead of
+   * {@code O(n log n)} for sorting everything.</p>
+   *
+   * @param values values
+   * @param from   first index of the range, inclusive
+   * @param to     last index of the range, exclusive
+   */
+  public static void sortRange(final long[] values, final int from, final int to) {
+    if (from < 0 || to > values.length || from > to) {
+      throw new IndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", from, to, values.length));
+    }
+    if (from == to) {
+      return;
+    }
+    select(values, 0, values.length - 1, from);
+    if (to - 1 > from) {
+      select(values, from + 1, values.length - 1, to - 1);
+    }
+    Arrays.sort(values, from, to);
+  }
+
+  /**
+   * Moves the {@code k}th smallest value of {@code [left, right]} to index {@code k}, with
+   * smaller values before it and larger values after it.
+   */
+  private static void select(final long[] values, int left, int right, final int k) {
+    while (right > left) {
+      final long pivot = values[medianOfThree(values, left, left + (right - left) / 2, right)];
+      // Three-way partition, so runs of equal values don't degrade to quadratic time
+      int lt = left;
+      int gt = right;
+      int i = left;
+      while (i <= gt) {
+        if (values[i] < pivot) {
+          swap(values, lt++, i++);
+        } else if (values[i] > pivot) {
+          swap(values, i, gt--);
+        } else {
+          i++;
+        }
+      }
+      if (k < lt) {
+        right = lt - 1;
+      } else if (k > gt) {
+        left = gt + 1;
+      } else {
+        return;
+      }
+    }
+  }
+
+  private static int medianOfThree(final long[] values, final int a, final int b, final int c) {
+    if (values[a] < values[b]) {
+      return values[b] < values[c] ? b : (values[a] < values[c] ? c : a);
+    }
+    return values[a] < values[c] ? a : (values[b] < values[c] ? c : b);
+  }
+
+  private static void swap(final long[] values, final int a, final int b) {
+    final long value = values[a];
+    values[a] = values[b];
+    values[b] = value;
+  }
+}
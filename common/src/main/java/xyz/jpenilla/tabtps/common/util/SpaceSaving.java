@@ -0,0 +1,242 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Approximate top-K heavy hitters over {@code long} keys, using the Space-Saving algorithm.
+ *
+ * <p>At most {@code capacity} keys are tracked. When a new key arrives while full, the
+ * key with the lowest weight is replaced and the new key inherits its weight as
+ * error, so any key with a true weight above {@code total / capacity} is
+ * guaranteed to be tracked. Keys are indexed with an open addressing table so
+ * recording does not allocate.</p>
+ *
+ * <p>Weights are arbitrary rather than unit increments, so instead of the paper's
+ * bucket list the slots are kept in an indexed min-heap on weight. Adding to a
+ * tracked key and replacing the lightest key both cost {@code O(log capacity)}.</p>
+ *
+ * <p>Not thread safe.</p>
+ */
+@NullMarked
+public final class SpaceSaving {
+  private static final int EMPTY = -1;
+
+  private final long[] keys;
+  private final long[] weights;
+  private final long[] errors;
+  private final int[] counts;
+  // Slots ordered as a min-heap on weight, and each slot's position in it
+  private final int[] heap;
+  private final int[] heapIndex;
+  private final int[] table;
+  private final int mask;
+  private int size = 0;
+
+  public SpaceSaving(final int capacity) {
+    this.keys = new long[capacity];
+    this.weights = new long[capacity];
+    this.errors = new long[capacity];
+    this.counts = new int[capacity];
+    this.heap = new int[capacity];
+    this.heapIndex = new int[capacity];
+    // Keep the load factor at or below 0.5
+    final int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+    this.table = new int[tableSize];
+    this.mask = tableSize - 1;
+    Arrays.fill(this.table, EMPTY);
+  }
+
+  public void add(final long key, final long weight) {
+    int bucket = this.bucket(key);
+    while (this.table[bucket] != EMPTY) {
+      final int slot = this.table[bucket];
+      if (this.keys[slot] == key) {
+        this.weights[slot] += weight;
+        this.counts[slot]++;
+        this.siftDown(this.heapIndex[slot]);
+        return;
+      }
+      bucket = (bucket + 1) & this.mask;
+    }
+
+    if (this.size < this.keys.length) {
+      final int slot = this.size++;
+      this.set(slot, key, weight, 0L);
+      this.table[bucket] = slot;
+      this.heap[slot] = slot;
+      this.heapIndex[slot] = slot;
+      this.siftUp(slot);
+      return;
+    }
+
+    // Full; replace the lightest entry, which only gets heavier
+    final int min = this.heap[0];
+    this.removeFromTable(this.keys[min]);
+    final long inherited = this.weights[min];
+    this.set(min, key, inherited + weight, inherited);
+    this.table[this.emptyBucket(key)] = min;
+    this.siftDown(0);
+  }
+
+  private void siftUp(final int from) {
+    final int slot = this.heap[from];
+    int position = from;
+    while (position > 0) {
+      final int parent = (position - 1) >>> 1;
+      if (this.weights[this.heap[parent]] <= this.weights[slot]) {
+        break;
+      }
+      this.place(position, this.heap[parent]);
+      position = parent;
+    }
+    this.place(position, slot);
+  }
+
+  private void siftDown(final int from) {
+    final int slot = this.heap[from];
+    int position = from;
+    while (true) {
+      int child = (position << 1) + 1;
+      if (child >= this.size) {
+        break;
+      }
+      if (child + 1 < this.size && this.weights[this.heap[child + 1]] < this.weights[this.heap[child]]) {
+        child++;
+      }
+      if (this.weights[slot] <= this.weights[this.heap[child]]) {
+        break;
+      }
+      this.place(position, this.heap[child]);
+      position = child;
+    }
+    this.place(position, slot);
+  }
+
+  private void place(final int position, final int slot) {
+    this.heap[position] = slot;
+    this.heapIndex[slot] = position;
+  }
+
+  private void set(final int slot, final long key, final long weight, final long error) {
+    this.keys[slot] = key;
+    this.weights[slot] = weight;
+    this.errors[slot] = error;
+    this.counts[slot] = 1;
+  }
+
+  private int bucket(final long key) {
+    final long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32)) & this.mask;
+  }
+
+  private int emptyBucket(final long key) {
+    int bucket = this.bucket(key);
+    while (this.table[bucket] != EMPTY) {
+      bucket = (bucket + 1) & this.mask;
+    }
+    return bucket;
+  }
+
+  private void removeFromTable(final long key) {
+    int bucket = this.bucket(key);
+    while (this.keys[this.table[bucket]] != key) {
+      bucket = (bucket + 1) & this.mask;
+    }
+    // Backward shift deletion keeps probe sequences intact without tombstones
+    int hole = bucket;
+    int next = (hole + 1) & this.mask;
+    while (this.table[next] != EMPTY) {
+      final int home = this.bucket(this.keys[this.table[next]]);
+      final boolean movable = hole <= next
+        ? home <= hole || home > next
+        : home <= hole && home > next;
+      if (movable) {
+        this.table[hole] = this.table[next];
+        hole = next;
+      }
+      next = (next + 1) & this.mask;
+    }
+    this.table[hole] = EMPTY;
+  }
+
+  /**
+   * Gets the tracked entries, heaviest first.
+   *
+   * @return entries
+   */
+  public List<Entry> entries() {
+    final List<Entry> entries = new ArrayList<>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      entries.add(new Entry(this.keys[i], this.weights[i], this.errors[i], this.counts[i]));
+    }
+    entries.sort(Comparator.comparingLong(Entry::weight).reversed());
+    return entries;
+  }
+
+  public static final class Entry {
+    private final long key;
+    private final long weight;
+    private final long error;
+    private final int count;
+
+    Entry(final long key, final long weight, final long error, final int count) {
+      this.key = key;
+      this.weight = weight;
+      this.error = error;
+      this.count = count;
+    }
+
+    public long key() {
+      return this.key;
+    }
+
+    /**
+     * Gets the recorded weight. This overestimates the true weight by at most {@link #error()}.
+     *
+     * @return weight
+     */
+    public long weight() {
+      return this.weight;
+    }
+
+    public long error() {
+      return this.error;
+    }
+
+    /**
+     * Gets the number of times this key was recorded since it was last (re)inserted.
+     *
+     * @return count
+     */
+    public int count() {
+      return this.count;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import xyz.jpenilla.tabtps.common.config.PluginSettings;
+
+/**
+ * Watches for server ticks that take too long, and samples the server thread's stack while they run.
+ *
+ * <p>Platforms call {@link #heartbeat()} from the server thread at the start of every tick.
+ * When no heartbeat has been seen for longer than the configured threshold, the watchdog
+ * thread samples the server thread's stack at a fixed interval until the next heartbeat,
+ * then writes the samples to the {@code stalls} folder in the data directory in the
+ * collapsed stack format understood by flame graph tools such as {@code flamegraph.pl}
+ * and speedscope.</p>
+ */
+@NullMarked
+public final class StallWatchdog {
+  private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("'stall-'yyyy-MM-dd_HH-mm-ss'.collapsed'");
+  private static final String FILE_SUFFIX = ".collapsed";
+  private static final long MAX_IDLE_CHECK_MILLIS = 250L;
+
+  private static volatile long lastHeartbeat = 0L;
+  private static volatile @Nullable Thread serverThread;
+
+  private final Logger logger;
+  private final Path directory;
+  private @Nullable Thread thread;
+
+  public StallWatchdog(final Logger logger, final Path dataDirectory) {
+    this.logger = logger;
+    this.directory = dataDirectory.resolve("stalls");
+  }
+
+  /**
+   * Records that the server thread has started a tick. Must be called from the server thread.
+   */
+  public static void heartbeat() {
+    if (serverThread == null) {
+      serverThread = Thread.currentThread();
+    }
+    lastHeartbeat = System.nanoTime();
+  }
+
+  /**
+   * Gets the server thread, once it has reported a {@link #heartbeat()}.
+   *
+   * @return server thread
+   */
+  public static @Nullable Thread serverThread() {
+    return serverThread;
+  }
+
+  /**
+   * Starts or restarts the watchdog with new settings, or stops it if it is disabled in them.
+   *
+   * @param settings settings
+   */
+  public synchronized void configure(final PluginSettings.StallWatchdog settings) {
+    this.stop();
+    if (!settings.enabled()) {
+      return;
+    }
+    final Thread thread = new Thread(() -> this.run(settings), "TabTPS Stall Watchdog");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MAX_PRIORITY);
+    thread.start();
+    this.thread = thread;
+  }
+
+  public synchronized void stop() {
+    final Thread thread = this.thread;
+    if (thread != null) {
+      thread.interrupt();
+      this.thread = null;
+    }
+  }
+
+  private void run(final PluginSettings.StallWatchdog settings) {
+    final long threshold = TimeUnit.MILLISECONDS.toNanos(settings.thresholdMillis());
+    final long idleCheck = Math.min(MAX_IDLE_CHECK_MILLIS, Math.max(1L, settings.thresholdMillis() / 4));
+    long handledHeartbeat = 0L;
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        final long heartbeat = lastHeartbeat;
+        final Thread server = serverThread;
+        if (heartbeat == 0L || server == null || heartbeat == handledHeartbeat
+          || System.nanoTime() - heartbeat < threshold) {
+          Thread.sleep(idleCheck);
+          continue;
+        }
+        // Only report each stall once, even if the server never ticks again
+        handledHeartbeat = heartbeat;
+        this.sampleStall(settings, server, heartbeat);
+      }
+    } catch (final InterruptedException ignored) {
+      // Stopped
+    }
+  }
+
+  private void sampleStall(
+    final PluginSettings.StallWatchdog settings,
+    final Thread server,
+    final long heartbeat
+  ) throws InterruptedException {
+    this.logger.warn(
+      "The server has not ticked for {}ms, sampling the server thread's stack every {}ms until it recovers.",
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - heartbeat),
+      settings.sampleIntervalMillis()
+    );
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    final Map<String, Integer> stacks = new HashMap<>();
+    int samples = 0;
+    while (lastHeartbeat == heartbeat && samples < settings.maxSamples()) {
+      final @Nullable ThreadInfo info = threads.getThreadInfo(server.getId(), Integer.MAX_VALUE);
+      if (info == null) {
+        // Server thread died
+        break;
+      }
+      stacks.merge(collapse(info), 1, Integer::sum);
+      samples++;
+      Thread.sleep(settings.sampleIntervalMillis());
+    }
+    final long stallMillis = TimeUnit.NANOSECONDS.toMillis(
+      (lastHeartbeat == heartbeat ? System.nanoTime() : lastHeartbeat) - heartbeat
+    );
+    if (samples == 0) {
+      return;
+    }
+
+    try {
+      final Path file = this.write(stacks);
+      this.logger.warn("Server tick stalled for at least {}ms. Wrote {} stack samples to {}", stallMillis, samples, file);
+      this.prune(settings.keepFiles());
+    } catch (final IOException e) {
+      this.logger.warn("Failed to write stall stack samples", e);
+    }
+  }
+
+  private static String collapse(final ThreadInfo info) {
+    final StackTraceElement[] frames = info.getStackTrace();
+    final StringBuilder builder = new StringBuilder(frames.length * 48);
+    builder.append(info.getThreadName().replace(';', '_').replace(' ', '_'));
+    // Collapsed stacks are written root first
+    for (int i = frames.length - 1; i >= 0; i--) {
+      builder.append(';').append(frames[i].getClassName()).append('.').append(frames[i].getMethodName());
+    }
+    if (info.getThreadState() != Thread.State.RUNNABLE) {
+      builder.append(";[").append(info.getThreadState()).append(']');
+    }
+    return builder.toString();
+  }
+
+  private Path write(final Map<String, Integer> stacks) throws IOException {
+    Files.createDirectories(this.directory);
+    final Path file = this.directory.resolve(FILE_NAME_FORMAT.format(LocalDateTime.now()));
+    final List<Map.Entry<String, Integer>> entries = new ArrayList<>(stacks.entrySet());
+    entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+    try (final BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      for (final Map.Entry<String, Integer> entry : entries) {
+        writer.write(entry.getKey());
+        writer.write(' ');
+        writer.write(Integer.toString(entry.getValue()));
+        writer.newLine();
+      }
+    }
+    return file;
+  }
+
+  private void prune(final int keep) throws IOException {
+    final List<Path> files;
+    try (final Stream<Path> stream = Files.list(this.directory)) {
+      files = stream.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+        .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+        .collect(Collectors.toList());
+    }
+    for (int i = Math.max(0, keep); i < files.size(); i++) {
+      Files.deleteIfExists(files.get(i));
+    }
+  }
+}
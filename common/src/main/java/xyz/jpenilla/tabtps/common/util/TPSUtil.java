@@ -28,8 +28,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.LongSummaryStatistics;
-import java.util.function.LongPredicate;
-import java.util.stream.LongStream;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
 import org.incendo.cloud.type.tuple.Pair;
@@ -46,7 +44,6 @@ import static xyz.jpenilla.tabtps.common.util.Components.gradient;
 @NullMarked
 public final class TPSUtil {
   private static final DecimalFormat FORMAT = new DecimalFormat("0.00");
-  private static final LongPredicate NOT_ZERO = l -> l != 0;
 
   private TPSUtil() {
   }
@@ -96,6 +93,14 @@ public final class TPSUtil {
   }
 
   public static List<Component> formatTickTimes(final List<Pair<String, long[]>> times) {
+    final List<Pair<String, LongSummaryStatistics>> statistics = new ArrayList<>(times.size());
+    for (final Pair<String, long[]> pair : times) {
+      statistics.add(Pair.of(pair.first(), tickTimeStatistics(pair.second())));
+    }
+    return formatTickTimeStatistics(statistics);
+  }
+
+  public static List<Component> formatTickTimeStatistics(final List<Pair<String, LongSummaryStatistics>> times) {
     final Component header = text()
       .color(GRAY)
       .append(
@@ -113,9 +118,9 @@ public final class TPSUtil {
     final List<Component> output = new ArrayList<>();
     output.add(header);
 
-    final Iterator<Pair<String, long[]>> iterator = times.iterator();
+    final Iterator<Pair<String, LongSummaryStatistics>> iterator = times.iterator();
     while (iterator.hasNext()) {
-      final Pair<String, long[]> pair = iterator.next();
+      final Pair<String, LongSummaryStatistics> pair = iterator.next();
       final String branch = iterator.hasNext() ? "├─" : "└─";
       output.add(formatStatistics(
         branch,
@@ -126,8 +131,23 @@ public final class TPSUtil {
     return output;
   }
 
-  private static Component formatStatistics(final String branch, final Component time, final long[] times) {
-    final LongSummaryStatistics statistics = LongStream.of(times).filter(NOT_ZERO).summaryStatistics();
+  /**
+   * Computes statistics for tick times in nanoseconds in a single pass, ignoring empty ({@code 0}) slots.
+   *
+   * @param times tick times
+   * @return statistics
+   */
+  public static LongSummaryStatistics tickTimeStatistics(final long[] times) {
+    final LongSummaryStatistics statistics = new LongSummaryStatistics();
+    for (final long time : times) {
+      if (time != 0) {
+        statistics.accept(time);
+      }
+    }
+    return statistics;
+  }
+
+  private static Component formatStatistics(final String branch, final Component time, final LongSummaryStatistics statistics) {
     return Components.ofChildren(
       space(),
       text(branch, WHITE),
@@ -0,0 +1,117 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.common.util;
+
+import java.util.Locale;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Accumulates the time spent in major phases of each server tick.
+ *
+ * <p>Recording methods must only be called from the server thread, and do nothing
+ * while phase timing is disabled. Time not covered by a tracked phase during the
+ * tick is recorded as {@link Phase#OTHER}. Tasks usually run between ticks while
+ * the server waits for the next one, so {@link Phase#TASKS} is not part of the
+ * tick duration.</p>
+ */
+@NullMarked
+public final class TickPhases {
+  private static final int WINDOW = 100;
+  private static final Phase[] PHASES = Phase.values();
+
+  private static volatile boolean enabled = false;
+
+  private final TickTimes[] times = new TickTimes[PHASES.length];
+  private final long[] current = new long[PHASES.length];
+  private final long[] started = new long[PHASES.length];
+
+  public TickPhases() {
+    for (int i = 0; i < PHASES.length; i++) {
+      this.times[i] = new TickTimes(WINDOW);
+    }
+  }
+
+  public static boolean enabled() {
+    return enabled;
+  }
+
+  public static void enabled(final boolean enabled) {
+    TickPhases.enabled = enabled;
+  }
+
+  public void start(final Phase phase) {
+    if (!enabled) {
+      return;
+    }
+    this.started[phase.ordinal()] = System.nanoTime();
+  }
+
+  public void end(final Phase phase) {
+    if (!enabled) {
+      return;
+    }
+    final int i = phase.ordinal();
+    final long start = this.started[i];
+    if (start != 0L) {
+      this.current[i] += System.nanoTime() - start;
+      this.started[i] = 0L;
+    }
+  }
+
+  public void endTick(final int tickCount, final long tickDuration) {
+    if (!enabled) {
+      return;
+    }
+    final long tracked = this.current[Phase.WORLDS.ordinal()]
+      + this.current[Phase.NETWORK.ordinal()]
+      + this.current[Phase.SAVING.ordinal()];
+    this.current[Phase.OTHER.ordinal()] = Math.max(0L, tickDuration - tracked);
+    for (int i = 0; i < PHASES.length; i++) {
+      this.times[i].add(tickCount, this.current[i]);
+      this.current[i] = 0L;
+    }
+  }
+
+  /**
+   * Gets the per-tick durations recorded for a phase over the last 100 ticks, in nanoseconds.
+   *
+   * @param phase phase
+   * @return tick times
+   */
+  public TickTimes times(final Phase phase) {
+    return this.times[phase.ordinal()];
+  }
+
+  public enum Phase {
+    WORLDS,
+    NETWORK,
+    SAVING,
+    TASKS,
+    OTHER;
+
+    public String displayName() {
+      return this.name().toLowerCase(Locale.ROOT);
+    }
+  }
+}
@@ -45,4 +45,34 @@ public final class TickTimes {
   public long[] times() {
     return this.times.clone();
   }
+
+  /**
+   * Gets the average of the recorded times without copying them, ignoring slots that haven't been filled yet.
+   *
+   * @return average time, or {@code 0} if nothing was recorded
+   */
+  public double average() {
+    long total = 0L;
+    int count = 0;
+    for (final long time : this.times) {
+      if (time != 0) {
+        total += time;
+        count++;
+      }
+    }
+    return count == 0 ? 0.0D : total / (double) count;
+  }
+
+  /**
+   * Gets the longest recorded time without copying the times.
+   *
+   * @return longest time, or {@code 0} if nothing was recorded
+   */
+  public long max() {
+    long max = 0L;
+    for (final long time : this.times) {
+      max = Math.max(max, time);
+    }
+    return max;
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.fabric;
+
+import java.util.Optional;
+import net.kyori.adventure.platform.modcommon.MinecraftServerAudiences;
+import net.kyori.adventure.text.Component;
+import net.minecraft.network.chat.numbers.BlankFormat;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.scores.DisplaySlot;
+import net.minecraft.world.scores.Objective;
+import net.minecraft.world.scores.Scoreboard;
+import net.minecraft.world.scores.criteria.ObjectiveCriteria;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
+
+/**
+ * Sends a client-only sidebar objective straight to the player's connection, leaving the
+ * server scoreboard untouched. Each line is a score with a custom display name and a blank
+ * number format, so updating a line is a single score packet.
+ */
+@NullMarked
+final class FabricSidebarView implements SidebarView {
+  private static final String OBJECTIVE_NAME = "tabtps_sidebar";
+
+  private final ServerPlayer player;
+  private @Nullable Objective objective;
+  private int lines;
+
+  FabricSidebarView(final ServerPlayer player) {
+    this.player = player;
+  }
+
+  @Override
+  public void show(final Component title, final int lines) {
+    this.lines = lines;
+    this.objective = new Objective(
+      new Scoreboard(),
+      OBJECTIVE_NAME,
+      ObjectiveCriteria.DUMMY,
+      this.asNative(title),
+      ObjectiveCriteria.RenderType.INTEGER,
+      false,
+      BlankFormat.INSTANCE
+    );
+    this.player.connection.send(new ClientboundSetObjectivePacket(this.objective, ClientboundSetObjectivePacket.METHOD_ADD));
+    for (int i = 0; i < lines; i++) {
+      this.line(i, Component.empty());
+    }
+    this.player.connection.send(new ClientboundSetDisplayObjectivePacket(DisplaySlot.SIDEBAR, this.objective));
+  }
+
+  @Override
+  public void line(final int index, final Component content) {
+    // Higher scores are shown first
+    this.player.connection.send(new ClientboundSetScorePacket(
+      "tabtps_" + index,
+      OBJECTIVE_NAME,
+      this.lines - index,
+      Optional.of(this.asNative(content)),
+      Optional.empty()
+    ));
+  }
+
+  @Override
+  public void hide() {
+    if (this.objective != null) {
+      this.player.connection.send(new ClientboundSetObjectivePacket(this.objective, ClientboundSetObjectivePacket.METHOD_REMOVE));
+      this.objective = null;
+    }
+  }
+
+  private net.minecraft.network.chat.Component asNative(final Component component) {
+    return MinecraftServerAudiences.of(this.player.level().getServer()).asNative(component);
+  }
+}
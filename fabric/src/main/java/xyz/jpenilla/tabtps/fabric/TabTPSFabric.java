@@ -26,15 +26,16 @@ package xyz.jpenilla.tabtps.fabric;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import org.incendo.cloud.SenderMapper;
-import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.fabric.FabricServerCommandManager;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -43,8 +44,11 @@ import org.slf4j.LoggerFactory;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.TabTPSPlatform;
 import xyz.jpenilla.tabtps.common.command.Commander;
+import xyz.jpenilla.tabtps.common.command.Commands;
 import xyz.jpenilla.tabtps.common.command.DelegateUser;
+import xyz.jpenilla.tabtps.common.command.commands.HotspotCommand;
 import xyz.jpenilla.tabtps.common.command.commands.TickInfoCommand;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
 import xyz.jpenilla.tabtps.common.service.TickTimeService;
 import xyz.jpenilla.tabtps.common.service.UserService;
 import xyz.jpenilla.tabtps.common.util.Constants;
@@ -73,7 +77,7 @@ public final class TabTPSFabric implements ModInitializer, TabTPSPlatform<Server
     this.userService = new FabricUserService(this); // todo store in level container?
 
     this.commandManager = new FabricServerCommandManager<>(
-      ExecutionCoordinator.simpleCoordinator(),
+      Commands.executionCoordinator(this::tabTPS),
       SenderMapper.create(
         commandSourceStack -> {
           final Entity entity = commandSourceStack.getEntity();
@@ -97,6 +101,8 @@ public final class TabTPSFabric implements ModInitializer, TabTPSPlatform<Server
     this.tabTPS = new TabTPS(this);
 
     TickInfoCommand.withFormatter(this.tabTPS, this.tabTPS.commands(), new FabricTickInfoCommandFormatter(this)).register();
+
+    new HotspotCommand(this.tabTPS, this.tabTPS.commands(), TabTPSFabric::entityTypeName, TabTPSFabric::blockEntityTypeName).register();
     new FabricPingCommand(this, this.tabTPS.commands()).register();
     this.logger.info("Done initializing TabTPS.");
   }
@@ -174,6 +180,16 @@ public final class TabTPSFabric implements ModInitializer, TabTPSPlatform<Server
       this.server().getCommands().sendCommands(player));
   }
 
+  @Override
+  public Executor mainThreadExecutor() {
+    return task -> this.server().execute(task);
+  }
+
+  @Override
+  public TabListLatency.Decorator tabListDecorator() {
+    return new FabricTabListDecorator(this);
+  }
+
   @Override
   public Logger logger() {
     return this.logger;
@@ -183,4 +199,12 @@ public final class TabTPSFabric implements ModInitializer, TabTPSPlatform<Server
   public FabricServerCommandManager<Commander> commandManager() {
     return this.commandManager;
   }
+
+  private static String entityTypeName(final int id) {
+    return String.valueOf(BuiltInRegistries.ENTITY_TYPE.getKey(BuiltInRegistries.ENTITY_TYPE.byId(id)));
+  }
+
+  private static String blockEntityTypeName(final int id) {
+    return String.valueOf(BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(BuiltInRegistries.BLOCK_ENTITY_TYPE.byId(id)));
+  }
 }
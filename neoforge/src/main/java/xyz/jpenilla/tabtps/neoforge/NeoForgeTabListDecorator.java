@@ -0,0 +1,96 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.neoforge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.kyori.adventure.platform.modcommon.MinecraftServerAudiences;
+import net.kyori.adventure.text.Component;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
+import xyz.jpenilla.tabtps.neoforge.access.ServerPlayerAccess;
+
+/**
+ * Sends every changed name in one multi-entry player info update, so an update costs
+ * one packet per viewer no matter how many names changed.
+ */
+@NullMarked
+final class NeoForgeTabListDecorator implements TabListLatency.Decorator {
+  private final TabTPSNeoForge platform;
+
+  NeoForgeTabListDecorator(final TabTPSNeoForge platform) {
+    this.platform = platform;
+  }
+
+  @Override
+  public void decorate(final Map<UUID, Component> suffixes) {
+    final MinecraftServer server = this.platform.server();
+    final MinecraftServerAudiences audiences = MinecraftServerAudiences.of(server);
+    // The player list may only be walked on the server thread
+    server.execute(() -> {
+      final List<ServerPlayer> players = new ArrayList<>(suffixes.size());
+      suffixes.forEach((uuid, suffix) -> {
+        final @Nullable ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+        if (player != null) {
+          ((ServerPlayerAccess) player).tabListSuffix(audiences.asNative(suffix));
+          players.add(player);
+        }
+      });
+      this.broadcast(server, players);
+    });
+  }
+
+  @Override
+  public void clear(final Collection<UUID> uuids) {
+    final MinecraftServer server = this.platform.server();
+    server.execute(() -> {
+      final List<ServerPlayer> players = new ArrayList<>(uuids.size());
+      for (final UUID uuid : uuids) {
+        final @Nullable ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+        if (player != null) {
+          ((ServerPlayerAccess) player).tabListSuffix(null);
+          players.add(player);
+        }
+      }
+      this.broadcast(server, players);
+    });
+  }
+
+  private void broadcast(final MinecraftServer server, final List<ServerPlayer> players) {
+    if (!players.isEmpty()) {
+      server.getPlayerList().broadcastAll(new ClientboundPlayerInfoUpdatePacket(
+        EnumSet.of(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME),
+        players
+      ));
+    }
+  }
+}
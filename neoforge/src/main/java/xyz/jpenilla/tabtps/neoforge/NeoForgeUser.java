@@ -30,6 +30,8 @@ import net.kyori.adventure.text.Component;
 import net.minecraft.server.level.ServerPlayer;
 import org.jspecify.annotations.NullMarked;
 import xyz.jpenilla.tabtps.common.AbstractUser;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
+import xyz.jpenilla.tabtps.neoforge.access.ServerLevelAccess;
 
 @NullMarked
 public final class NeoForgeUser extends AbstractUser<ServerPlayer> {
@@ -54,6 +56,16 @@ public final class NeoForgeUser extends AbstractUser<ServerPlayer> {
     return this.tabTPSNeoForge.server().getPlayerList().getPlayer(this.uuid()) == this.base();
   }
 
+  @Override
+  public String world() {
+    return ((ServerLevelAccess) this.base().level()).worldIdentifier();
+  }
+
+  @Override
+  public SidebarView createSidebarView() {
+    return new NeoForgeSidebarView(this.base());
+  }
+
   @Override
   public int ping() {
     return this.base().connection.latency();
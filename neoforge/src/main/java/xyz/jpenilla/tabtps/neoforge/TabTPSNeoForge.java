@@ -30,8 +30,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import net.kyori.adventure.platform.modcommon.MinecraftServerAudiences;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.permissions.Permission;
@@ -47,7 +49,6 @@ import net.neoforged.neoforge.server.permission.nodes.PermissionDynamicContext;
 import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
 import net.neoforged.neoforge.server.permission.nodes.PermissionTypes;
 import org.incendo.cloud.SenderMapper;
-import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.neoforge.NeoForgeServerCommandManager;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -56,8 +57,11 @@ import org.slf4j.LoggerFactory;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.TabTPSPlatform;
 import xyz.jpenilla.tabtps.common.command.Commander;
+import xyz.jpenilla.tabtps.common.command.Commands;
 import xyz.jpenilla.tabtps.common.command.DelegateUser;
+import xyz.jpenilla.tabtps.common.command.commands.HotspotCommand;
 import xyz.jpenilla.tabtps.common.command.commands.TickInfoCommand;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
 import xyz.jpenilla.tabtps.common.service.TickTimeService;
 import xyz.jpenilla.tabtps.common.service.UserService;
 import xyz.jpenilla.tabtps.common.util.Constants;
@@ -87,7 +91,7 @@ public final class TabTPSNeoForge implements TabTPSPlatform<ServerPlayer, NeoFor
     this.userService = new NeoForgeUserService(this); // todo store in level container?
 
     this.commandManager = new NeoForgeServerCommandManager<>(
-      ExecutionCoordinator.simpleCoordinator(),
+      Commands.executionCoordinator(this::tabTPS),
       SenderMapper.create(
         commandSourceStack -> {
           final Entity entity = commandSourceStack.getEntity();
@@ -111,6 +115,8 @@ public final class TabTPSNeoForge implements TabTPSPlatform<ServerPlayer, NeoFor
     this.tabTPS = new TabTPS(this);
 
     TickInfoCommand.withFormatter(this.tabTPS, this.tabTPS.commands(), new NeoForgeTickInfoCommandFormatter(this)).register();
+
+    new HotspotCommand(this.tabTPS, this.tabTPS.commands(), TabTPSNeoForge::entityTypeName, TabTPSNeoForge::blockEntityTypeName).register();
     new NeoForgePingCommand(this, this.tabTPS.commands()).register();
 
     NeoForge.EVENT_BUS.addListener((ServerStartedEvent event) -> {
@@ -222,6 +228,16 @@ public final class TabTPSNeoForge implements TabTPSPlatform<ServerPlayer, NeoFor
       this.server().getCommands().sendCommands(player));
   }
 
+  @Override
+  public Executor mainThreadExecutor() {
+    return task -> this.server().execute(task);
+  }
+
+  @Override
+  public TabListLatency.Decorator tabListDecorator() {
+    return new NeoForgeTabListDecorator(this);
+  }
+
   @Override
   public Logger logger() {
     return this.logger;
@@ -239,4 +255,12 @@ public final class TabTPSNeoForge implements TabTPSPlatform<ServerPlayer, NeoFor
     }
     return thr;
   }
+
+  private static String entityTypeName(final int id) {
+    return String.valueOf(BuiltInRegistries.ENTITY_TYPE.getKey(BuiltInRegistries.ENTITY_TYPE.byId(id)));
+  }
+
+  private static String blockEntityTypeName(final int id) {
+    return String.valueOf(BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(BuiltInRegistries.BLOCK_ENTITY_TYPE.byId(id)));
+  }
 }
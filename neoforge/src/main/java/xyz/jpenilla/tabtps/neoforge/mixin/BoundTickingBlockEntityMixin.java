@@ -0,0 +1,82 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.neoforge.mixin;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jspecify.annotations.NullMarked;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import xyz.jpenilla.tabtps.common.util.HotspotSampler;
+import xyz.jpenilla.tabtps.neoforge.access.ServerLevelAccess;
+
+/**
+ * Times block entity ticks while a {@link HotspotSampler} session is running.
+ */
+@Mixin(targets = "net.minecraft.world.level.chunk.LevelChunk$BoundTickingBlockEntity")
+@NullMarked
+abstract class BoundTickingBlockEntityMixin {
+  @Shadow @Final private BlockEntity blockEntity;
+
+  @Unique
+  private long tickStart;
+
+  @Inject(method = "tick", at = @At("HEAD"))
+  private void injectTickStart(final CallbackInfo ci) {
+    if (HotspotSampler.active() != null) {
+      this.tickStart = System.nanoTime();
+    }
+  }
+
+  @Inject(method = "tick", at = @At("RETURN"))
+  private void injectTickEnd(final CallbackInfo ci) {
+    final HotspotSampler sampler = HotspotSampler.active();
+    final long start = this.tickStart;
+    if (sampler == null || start == 0L) {
+      return;
+    }
+    this.tickStart = 0L;
+    // Client worlds tick block entities too, only sample the server
+    if (!(this.blockEntity.getLevel() instanceof ServerLevelAccess)) {
+      return;
+    }
+    final ServerLevelAccess level = (ServerLevelAccess) this.blockEntity.getLevel();
+    final BlockPos pos = this.blockEntity.getBlockPos();
+    sampler.record(
+      HotspotSampler.Kind.BLOCK_ENTITY,
+      level.worldIdentifier(),
+      SectionPos.blockToSectionCoord(pos.getX()),
+      SectionPos.blockToSectionCoord(pos.getZ()),
+      BuiltInRegistries.BLOCK_ENTITY_TYPE.getId(this.blockEntity.getType()),
+      System.nanoTime() - start
+    );
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.neoforge.mixin;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.scores.PlayerTeam;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import xyz.jpenilla.tabtps.neoforge.access.ServerPlayerAccess;
+
+/**
+ * Appends the tab list latency suffix to the name player info packets carry, so it
+ * also survives the server resending an entry.
+ */
+@Mixin(ServerPlayer.class)
+@NullMarked
+abstract class ServerPlayerMixin implements ServerPlayerAccess {
+  @Unique
+  private volatile @Nullable Component tabListSuffix;
+
+  @Override
+  public void tabListSuffix(final @Nullable Component suffix) {
+    this.tabListSuffix = suffix;
+  }
+
+  @Inject(method = "getTabListDisplayName", at = @At("RETURN"), cancellable = true)
+  private void injectTabListDisplayName(final CallbackInfoReturnable<@Nullable Component> cir) {
+    final @Nullable Component suffix = this.tabListSuffix;
+    if (suffix == null) {
+      return;
+    }
+    final ServerPlayer player = (ServerPlayer) (Object) this;
+    final @Nullable Component name = cir.getReturnValue();
+    // The client only applies team formatting to entries without a display name
+    cir.setReturnValue(Component.empty()
+      .append(name != null ? name : PlayerTeam.formatNameForTeam(player.getTeam(), player.getName()))
+      .append(suffix));
+  }
+}
@@ -12,6 +12,7 @@ dependencies {
   compileOnly(libs.brigadier)
   implementation(libs.adventurePlatformBukkit)
   implementation(libs.adventureTextSerializerPlain)
+  implementation(libs.adventureTextSerializerGson)
   implementation(libs.paperLib)
   implementation(libs.legacyPluginBase)
   implementation(libs.bstatsBukkit)
@@ -20,6 +21,24 @@ dependencies {
   implementation(libs.cloudPaper)
 }
 
+val jmh: SourceSet by sourceSets.creating {
+  compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+  runtimeClasspath += output + compileClasspath
+}
+
+dependencies {
+  "jmhImplementation"(libs.jmhCore)
+  "jmhAnnotationProcessor"(libs.jmhGeneratorAnnprocess)
+}
+
+tasks.register<JavaExec>("runJmh") {
+  group = "verification"
+  description = "Runs the JMH benchmarks. Pass JMH arguments with -PjmhArgs=\"-f 1 -wi 3 -i 5\""
+  classpath = jmh.runtimeClasspath
+  mainClass.set("org.openjdk.jmh.Main")
+  providers.gradleProperty("jmhArgs").orNull?.let { args(it.split(' ')) }
+}
+
 tasks {
   jar {
     archiveClassifier.set("unshaded")
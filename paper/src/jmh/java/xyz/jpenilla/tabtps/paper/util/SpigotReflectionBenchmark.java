@@ -0,0 +1,201 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.paper.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the field access in {@link SpigotReflection} before and after it moved to exactly typed
+ * method handles.
+ *
+ * <p>{@link SpigotReflection} needs a running CraftBukkit server to resolve its handles, so the
+ * stand-in classes below mirror the shapes it reads: a server singleton with private
+ * {@code recentTps} and tick time arrays, and a CraftPlayer whose handle holds a private
+ * {@code latency}. The {@code reflection} benchmarks do what the old code did: look up the server
+ * through {@code getServer} on every call and read through {@link Field}, with the player handle
+ * fetched by {@link MethodHandle#invokeWithArguments(Object...)}. The {@code exact} benchmarks use
+ * static final handles adapted to fixed types and called with {@code invokeExact}, on a cached
+ * server instance.</p>
+ *
+ * <p>Run with {@code ./gradlew :tabtps-paper:runJmh}.</p>
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SpigotReflectionBenchmark {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodHandle Server_getServer_method = findStatic(FakeServer.class, "getServer", FakeServer.class);
+  private static final MethodHandle CraftPlayer_getHandle_method = findVirtual(FakeCraftPlayer.class, "getHandle", FakeServerPlayer.class);
+
+  private static final Field ServerPlayer_latency_field = field(FakeServerPlayer.class, "latency");
+  private static final Field Server_recentTps_field = field(FakeServer.class, "recentTps");
+  private static final Field Server_recentTickTimes_field = field(FakeServer.class, "recentTickTimes");
+
+  private static final MethodHandle Player_latency_getter = MethodHandles.filterReturnValue(
+    CraftPlayer_getHandle_method,
+    getter(ServerPlayer_latency_field, MethodType.methodType(int.class, FakeServerPlayer.class))
+  ).asType(MethodType.methodType(int.class, Object.class));
+  private static final MethodHandle Server_recentTps_getter = getter(
+    Server_recentTps_field,
+    MethodType.methodType(double[].class, Object.class)
+  );
+  private static final MethodHandle Server_recentTickTimes_getter = getter(
+    Server_recentTickTimes_field,
+    MethodType.methodType(long[].class, Object.class)
+  );
+
+  private final Object player = new FakeCraftPlayer(new FakeServerPlayer(42));
+  private final Object server = FakeServer.getServer();
+
+  @Benchmark
+  public int pingReflection() throws IllegalAccessException {
+    final Object nmsPlayer = invokeOrThrow(CraftPlayer_getHandle_method, this.player);
+    return ServerPlayer_latency_field.getInt(nmsPlayer);
+  }
+
+  @Benchmark
+  public int pingExact() throws Throwable {
+    return (int) Player_latency_getter.invokeExact(this.player);
+  }
+
+  @Benchmark
+  public double[] recentTpsReflection() throws IllegalAccessException {
+    final Object server = invokeOrThrow(Server_getServer_method);
+    return (double[]) Server_recentTps_field.get(server);
+  }
+
+  @Benchmark
+  public double[] recentTpsExact() throws Throwable {
+    return (double[]) Server_recentTps_getter.invokeExact(this.server);
+  }
+
+  @Benchmark
+  public long[] recentTickTimesReflection() throws IllegalAccessException {
+    final Object server = invokeOrThrow(Server_getServer_method);
+    return (long[]) Server_recentTickTimes_field.get(server);
+  }
+
+  @Benchmark
+  public long[] recentTickTimesExact() throws Throwable {
+    return (long[]) Server_recentTickTimes_getter.invokeExact(this.server);
+  }
+
+  // The helper SpigotReflection used before the change
+  private static @Nullable Object invokeOrThrow(final MethodHandle methodHandle, final @Nullable Object... params) {
+    try {
+      if (params.length == 0) {
+        return methodHandle.invoke();
+      }
+      return methodHandle.invokeWithArguments(params);
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException(String.format("Unable to invoke method with args '%s'", Arrays.toString(params)), throwable);
+    }
+  }
+
+  private static MethodHandle findStatic(final Class<?> holderClass, final String methodName, final Class<?> returnClass) {
+    try {
+      return LOOKUP.findStatic(holderClass, methodName, MethodType.methodType(returnClass));
+    } catch (final NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static MethodHandle findVirtual(final Class<?> holderClass, final String methodName, final Class<?> returnClass) {
+    try {
+      return LOOKUP.findVirtual(holderClass, methodName, MethodType.methodType(returnClass));
+    } catch (final NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Field field(final Class<?> holderClass, final String fieldName) {
+    try {
+      final Field field = holderClass.getDeclaredField(fieldName);
+      field.setAccessible(true);
+      return field;
+    } catch (final NoSuchFieldException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static MethodHandle getter(final Field field, final MethodType type) {
+    try {
+      return LOOKUP.unreflectGetter(field).asType(type);
+    } catch (final IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static final class FakeServer {
+    private static final FakeServer INSTANCE = new FakeServer();
+
+    private final double[] recentTps = {20.0D, 19.98D, 19.95D};
+    private final long[] recentTickTimes = new long[100];
+
+    static FakeServer getServer() {
+      return INSTANCE;
+    }
+  }
+
+  static final class FakeServerPlayer {
+    private final int latency;
+
+    FakeServerPlayer(final int latency) {
+      this.latency = latency;
+    }
+  }
+
+  static final class FakeCraftPlayer {
+    private final FakeServerPlayer handle;
+
+    FakeCraftPlayer(final FakeServerPlayer handle) {
+      this.handle = handle;
+    }
+
+    FakeServerPlayer getHandle() {
+      return this.handle;
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.paper;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.pluginbase.legacy.environment.Environment;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
+import xyz.jpenilla.tabtps.paper.util.NativeAdventure;
+
+import static xyz.jpenilla.pluginbase.legacy.environment.MinecraftReleases.v1_13;
+import static xyz.jpenilla.pluginbase.legacy.environment.MinecraftReleases.v1_16;
+
+/**
+ * Shows the sidebar on a scoreboard of its own, swapping the player's previous scoreboard back in when hidden.
+ *
+ * <p>Each line is a team with a unique color code entry, and the line content as its prefix,
+ * so updating a line is a single team packet. Scoreboards broadcast their changes to players
+ * from whichever thread changes them, so every change is made on the main thread.</p>
+ *
+ * <p>Where Paper's Component scoreboard methods are available they are used, so formatting isn't
+ * lost to legacy text, and score numbers are hidden where the server supports it.</p>
+ */
+@NullMarked
+final class BukkitSidebarView implements SidebarView {
+  private static final String ENTRY_CODES = "0123456789abcdef";
+  static final LegacyComponentSerializer SERIALIZER = Environment.currentMinecraft().isAtLeast(v1_16)
+    ? LegacyComponentSerializer.builder().hexColors().useUnusualXRepeatedCharacterHexFormat().build()
+    : LegacyComponentSerializer.legacySection();
+
+  private final Player player;
+  private final Audience audience;
+  private final Executor mainThread;
+  private final @Nullable NativeAdventure adventure = NativeAdventure.get();
+  private @Nullable Scoreboard scoreboard;
+  private @Nullable Scoreboard previous;
+
+  BukkitSidebarView(final Player player, final Audience audience, final Executor mainThread) {
+    this.player = player;
+    this.audience = audience;
+    this.mainThread = mainThread;
+  }
+
+  @Override
+  public void show(final Component title, final int lines) {
+    this.mainThread.execute(() -> {
+      final Scoreboard scoreboard = this.player.getServer().getScoreboardManager().getNewScoreboard();
+      final Objective objective;
+      if (this.adventure != null) {
+        objective = this.adventure.registerNewObjective(scoreboard, "tabtps", this.adventure.asNative(this.render(title)));
+        this.adventure.hideScores(objective);
+      } else {
+        objective = scoreboard.registerNewObjective("tabtps", "dummy");
+        objective.setDisplayName(this.legacy(title, 32));
+      }
+      objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+      for (int i = 0; i < lines; i++) {
+        final String entry = entry(i);
+        scoreboard.registerNewTeam(teamName(i)).addEntry(entry);
+        // Higher scores are shown first
+        objective.getScore(entry).setScore(lines - i);
+      }
+      this.previous = this.player.getScoreboard();
+      this.scoreboard = scoreboard;
+      this.player.setScoreboard(scoreboard);
+    });
+  }
+
+  @Override
+  public void line(final int index, final Component content) {
+    final @Nullable NativeAdventure adventure = this.adventure;
+    final Object prefix = adventure != null ? adventure.asNative(this.render(content)) : this.legacy(content, 16);
+    this.mainThread.execute(() -> {
+      final @Nullable Team team = this.scoreboard == null ? null : this.scoreboard.getTeam(teamName(index));
+      if (team == null) {
+        return;
+      }
+      if (adventure != null) {
+        adventure.prefix(team, prefix);
+      } else {
+        team.setPrefix((String) prefix);
+      }
+    });
+  }
+
+  @Override
+  public void hide() {
+    this.mainThread.execute(() -> {
+      if (this.scoreboard != null && this.player.isOnline() && this.player.getScoreboard() == this.scoreboard) {
+        this.player.setScoreboard(this.previous != null ? this.previous : this.player.getServer().getScoreboardManager().getMainScoreboard());
+      }
+      this.scoreboard = null;
+      this.previous = null;
+    });
+  }
+
+  private static String teamName(final int index) {
+    return "tabtps_" + index;
+  }
+
+  private static String entry(final int index) {
+    // A color code renders as nothing, and each one is a distinct entry
+    return String.valueOf(LegacyComponentSerializer.SECTION_CHAR) + ENTRY_CODES.charAt(index);
+  }
+
+  private Component render(final Component component) {
+    // Neither the server's components nor legacy text know our translations, so they're rendered up front
+    final Locale locale = this.audience.get(Identity.LOCALE).orElse(Locale.US);
+    return GlobalTranslator.render(component, locale);
+  }
+
+  private String legacy(final Component component, final int legacyLimit) {
+    final String legacy = SERIALIZER.serialize(this.render(component));
+    // Before 1.13, team prefixes and objective names had hard length limits
+    if (Environment.currentMinecraft().isOlderThan(v1_13) && legacy.length() > legacyLimit) {
+      return legacy.substring(0, legacyLimit);
+    }
+    return legacy;
+  }
+}
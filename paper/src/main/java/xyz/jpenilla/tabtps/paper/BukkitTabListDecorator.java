@@ -0,0 +1,133 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.paper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.bukkit.entity.Player;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
+import xyz.jpenilla.tabtps.paper.util.NativeAdventure;
+
+/**
+ * Shows pings by appending them to each player's list name, which only changes their tab list entry.
+ *
+ * <p>The name a player had before is kept and put back on {@link #clear(Collection)}, unless something
+ * else changed the name in the meantime, in which case that becomes the new base name. Player list names
+ * can only be changed on the main thread.</p>
+ */
+@NullMarked
+final class BukkitTabListDecorator implements TabListLatency.Decorator {
+  private final TabTPSPlugin plugin;
+  private final @Nullable NativeAdventure adventure = NativeAdventure.get();
+  // Only used on the main thread
+  private final Map<UUID, Decorated> decorated = new HashMap<>();
+
+  BukkitTabListDecorator(final TabTPSPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  @Override
+  public void decorate(final Map<UUID, Component> suffixes) {
+    this.plugin.mainThreadExecutor().execute(() -> {
+      suffixes.forEach((uuid, suffix) -> {
+        final @Nullable Player player = this.plugin.getServer().getPlayer(uuid);
+        if (player == null) {
+          this.decorated.remove(uuid);
+          return;
+        }
+        final Object current = this.listName(player);
+        final @Nullable Decorated previous = this.decorated.get(uuid);
+        final Object base = previous != null && previous.player == player && previous.applied.equals(current)
+          ? previous.base
+          : current;
+        this.listName(player, this.append(base, suffix));
+        // Read back what the server made of it, so the next comparison isn't thrown off by conversions
+        this.decorated.put(uuid, new Decorated(player, base, this.listName(player)));
+      });
+      this.decorated.values().removeIf(decorated -> !decorated.player.isOnline());
+    });
+  }
+
+  @Override
+  public void clear(final Collection<UUID> players) {
+    this.plugin.mainThreadExecutor().execute(() -> {
+      for (final UUID uuid : players) {
+        final @Nullable Decorated decorated = this.decorated.remove(uuid);
+        if (decorated == null || !decorated.player.isOnline() || !decorated.applied.equals(this.listName(decorated.player))) {
+          continue;
+        }
+        this.restore(decorated.player, decorated.base);
+      }
+    });
+  }
+
+  private Object listName(final Player player) {
+    if (this.adventure != null) {
+      return this.adventure.playerListName(player);
+    }
+    return player.getPlayerListName();
+  }
+
+  private void listName(final Player player, final @Nullable Object name) {
+    if (this.adventure != null) {
+      this.adventure.playerListName(player, name);
+    } else {
+      player.setPlayerListName((String) name);
+    }
+  }
+
+  private Object append(final Object base, final Component suffix) {
+    // Every viewer sees the same name, so translations are rendered in the server's locale
+    final Component rendered = GlobalTranslator.render(suffix, Locale.getDefault());
+    if (this.adventure != null) {
+      return this.adventure.append(base, this.adventure.asNative(rendered));
+    }
+    return base + BukkitSidebarView.SERIALIZER.serialize(rendered);
+  }
+
+  private void restore(final Player player, final Object base) {
+    // A name which is just the player's name was most likely never set, and resetting it keeps team formatting
+    final Object plain = this.adventure != null ? this.adventure.asNative(Component.text(player.getName())) : player.getName();
+    this.listName(player, base.equals(plain) ? null : base);
+  }
+
+  private static final class Decorated {
+    private final Player player;
+    private final Object base;
+    private final Object applied;
+
+    private Decorated(final Player player, final Object base, final Object applied) {
+      this.player = player;
+      this.base = base;
+      this.applied = applied;
+    }
+  }
+}
@@ -32,6 +32,7 @@ import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.pluginbase.legacy.environment.Environment;
 import xyz.jpenilla.tabtps.common.AbstractUser;
 import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
 import xyz.jpenilla.tabtps.common.util.Serializers;
 
 import static xyz.jpenilla.pluginbase.legacy.environment.MinecraftReleases.v1_16;
@@ -40,12 +41,14 @@ import static xyz.jpenilla.tabtps.paper.util.SpigotReflection.spigotReflection;
 
 @NullMarked
 public final class BukkitUser extends AbstractUser<Player> {
+  private final TabTPSPlugin plugin;
   private final BukkitAudiences audiences;
   private @Nullable Audience audience;
 
   private BukkitUser(final TabTPS tabTPS, final Player player) {
     super(tabTPS, player, player.getUniqueId());
-    this.audiences = ((TabTPSPlugin) tabTPS.platform()).audiences();
+    this.plugin = (TabTPSPlugin) tabTPS.platform();
+    this.audiences = this.plugin.audiences();
   }
 
   public static BukkitUser from(final TabTPS tabTPS, final Player player) {
@@ -67,6 +70,11 @@ public final class BukkitUser extends AbstractUser<Player> {
     return this.base().isOnline();
   }
 
+  @Override
+  public SidebarView createSidebarView() {
+    return new BukkitSidebarView(this.base(), this.audience(), this.plugin.mainThreadExecutor());
+  }
+
   @Override
   public int ping() {
     if (Environment.currentMinecraft().isAtLeast(v1_17)) {
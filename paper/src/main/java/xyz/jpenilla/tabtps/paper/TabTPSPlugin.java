@@ -26,6 +26,7 @@ package xyz.jpenilla.tabtps.paper;
 import io.papermc.lib.PaperLib;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import org.bstats.bukkit.Metrics;
@@ -34,7 +35,6 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.bukkit.CloudBukkitCapabilities;
-import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.paper.LegacyPaperCommandManager;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -44,9 +44,13 @@ import xyz.jpenilla.pluginbase.legacy.environment.Environment;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.TabTPSPlatform;
 import xyz.jpenilla.tabtps.common.command.Commander;
+import xyz.jpenilla.tabtps.common.command.Commands;
 import xyz.jpenilla.tabtps.common.command.commands.TickInfoCommand;
+import xyz.jpenilla.tabtps.common.display.TabListLatency;
 import xyz.jpenilla.tabtps.common.service.TickTimeService;
 import xyz.jpenilla.tabtps.common.service.UserService;
+import xyz.jpenilla.tabtps.common.util.RollingAverage;
+import xyz.jpenilla.tabtps.common.util.StallWatchdog;
 import xyz.jpenilla.tabtps.common.util.UpdateChecker;
 import xyz.jpenilla.tabtps.paper.command.BukkitConsoleCommander;
 import xyz.jpenilla.tabtps.paper.command.BukkitPingCommand;
@@ -91,6 +95,18 @@ public final class TabTPSPlugin extends JavaPlugin implements TabTPSPlatform<Pla
     this.registerCommands();
 
     this.getServer().getPluginManager().registerEvents(new JoinQuitListener(this), this);
+    if (Environment.currentMinecraft().isAtLeast(v1_15) && Environment.paper()) {
+      final PaperTickTimeService paperTickTimeService = this.tickTimeService instanceof PaperTickTimeService
+        ? (PaperTickTimeService) this.tickTimeService
+        : null;
+      this.getServer().getPluginManager().registerEvents(new PaperTickListener(this.tabTPS.gcMonitor(), paperTickTimeService), this);
+    } else {
+      // No tick event on Spigot, a task that runs every tick is the closest thing
+      this.getServer().getScheduler().runTaskTimer(this, StallWatchdog::heartbeat, 0L, 1L);
+    }
+    if (this.tickTimeService instanceof SpigotTickTimeService) {
+      this.getServer().getScheduler().runTaskTimer(this, ((SpigotTickTimeService) this.tickTimeService)::publish, 0L, RollingAverage.SAMPLE_INTERVAL);
+    }
 
     if (this.tabTPS.configManager().pluginSettings().updateChecker()) {
       this.getServer().getScheduler().runTaskAsynchronously(this, () ->
@@ -123,6 +139,23 @@ public final class TabTPSPlugin extends JavaPlugin implements TabTPSPlatform<Pla
     }
   }
 
+  @Override
+  public Executor mainThreadExecutor() {
+    return task -> {
+      // Scheduling fails once the plugin is disabling, which is on the main thread anyway
+      if (this.getServer().isPrimaryThread()) {
+        task.run();
+      } else {
+        this.getServer().getScheduler().runTask(this, task);
+      }
+    };
+  }
+
+  @Override
+  public TabListLatency.Decorator tabListDecorator() {
+    return new BukkitTabListDecorator(this);
+  }
+
   public BukkitAudiences audiences() {
     return Objects.requireNonNull(this.audiences, "BukkitAudiences");
   }
@@ -130,7 +163,7 @@ public final class TabTPSPlugin extends JavaPlugin implements TabTPSPlatform<Pla
   private void setupCommandManager() {
     this.commandManager = new LegacyPaperCommandManager<>(
       this,
-      ExecutionCoordinator.simpleCoordinator(),
+      Commands.executionCoordinator(this::tabTPS),
       SenderMapper.create(
         commandSender -> {
           if (commandSender instanceof Player) {
@@ -168,7 +201,7 @@ public final class TabTPSPlugin extends JavaPlugin implements TabTPSPlatform<Pla
   private void registerCommands() {
     if (Environment.currentMinecraft().isAtLeast(v1_15) && Environment.paper()) {
       if (hasCopperGolem()) {
-        TickInfoCommand.withFormatter(this.tabTPS, this.tabTPS.commands(), new PaperTickInfoCommandFormatter()).register();
+        TickInfoCommand.withFormatter(this.tabTPS, this.tabTPS.commands(), new PaperTickInfoCommandFormatter(this.mainThreadExecutor())).register();
       } else {
         TickInfoCommand.withFormatter(this.tabTPS, this.tabTPS.commands(), new LegacyPaperTickInfoCommandFormatter()).register();
       }
@@ -27,10 +27,15 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import net.kyori.adventure.text.Component;
 import org.incendo.cloud.type.tuple.Pair;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.command.commands.TickInfoCommand;
 import xyz.jpenilla.tabtps.common.util.TPSUtil;
 
@@ -38,18 +43,25 @@ import static java.lang.invoke.MethodType.methodType;
 
 @NullMarked
 public final class PaperTickInfoCommandFormatter implements TickInfoCommand.Formatter {
+  // The shortest window is 5 seconds, so reusing a report for a second is not noticeable
+  private static final long CACHE_NANOS = TimeUnit.SECONDS.toNanos(1);
 
-  private final MethodHandle _getServer;
-  private final MethodHandle _tickRateManager;
+  private final Executor mainThreadExecutor;
+  private final Object minecraftServer;
+  private final Object tickRateManager;
   private final MethodHandle _nanosecondsPerTick;
   private final MethodHandle _generateTickReport;
   private final MethodHandle _timePerTickData;
   private final MethodHandle _rawData;
 
-  private final Pair<String, Field>[] tickTimesFields;
+  private final Pair<String, MethodHandle>[] tickTimesGetters;
+
+  private @Nullable List<Component> cached = null;
+  private long cachedAt = 0L;
 
   @SuppressWarnings({"unchecked", "rawtypes"})
-  public PaperTickInfoCommandFormatter() {
+  public PaperTickInfoCommandFormatter(final Executor mainThreadExecutor) {
+    this.mainThreadExecutor = mainThreadExecutor;
     try {
       final String tickDataPackage = tickDataPackage();
       final Class<?> _TickData = Class.forName(tickDataPackage + ".TickData");
@@ -61,25 +73,34 @@ public final class PaperTickInfoCommandFormatter implements TickInfoCommand.Form
 
       final MethodHandles.Lookup lookup = MethodHandles.lookup();
 
-      this._getServer = lookup.findStatic(_MinecraftServer, "getServer", methodType(_MinecraftServer));
-      this._tickRateManager = lookup.findVirtual(_MinecraftServer, "tickRateManager", methodType(_TickRateManager));
-      this._nanosecondsPerTick = lookup.findVirtual(_TickRateManager, "nanosecondsPerTick", methodType(long.class));
-      this._generateTickReport = lookup.findVirtual(_TickData, "generateTickReport", methodType(_TickReportData, _TickTime, long.class, long.class));
-      this._timePerTickData = lookup.findVirtual(_TickReportData, "timePerTickData", methodType(_SegmentedAverage));
-      this._rawData = lookup.findVirtual(_SegmentedAverage, "rawData", methodType(long[].class));
+      // The server and its tick rate manager live for the whole server lifetime, so resolve them once
+      final MethodHandle _getServer = lookup.findStatic(_MinecraftServer, "getServer", methodType(_MinecraftServer));
+      final MethodHandle _tickRateManager = lookup.findVirtual(_MinecraftServer, "tickRateManager", methodType(_TickRateManager));
+      this.minecraftServer = (Object) _getServer.invoke();
+      this.tickRateManager = (Object) _tickRateManager.invoke(this.minecraftServer);
+
+      this._nanosecondsPerTick = lookup.findVirtual(_TickRateManager, "nanosecondsPerTick", methodType(long.class))
+        .asType(methodType(long.class, Object.class));
+      this._generateTickReport = lookup.findVirtual(_TickData, "generateTickReport", methodType(_TickReportData, _TickTime, long.class, long.class))
+        .asType(methodType(Object.class, Object.class, Object.class, long.class, long.class));
+      this._timePerTickData = lookup.findVirtual(_TickReportData, "timePerTickData", methodType(_SegmentedAverage))
+        .asType(methodType(Object.class, Object.class));
+      this._rawData = lookup.findVirtual(_SegmentedAverage, "rawData", methodType(long[].class))
+        .asType(methodType(long[].class, Object.class));
 
-      final List<Pair<String, Field>> tickTimesFieldsList = new ArrayList<>();
+      final List<Pair<String, MethodHandle>> tickTimesGettersList = new ArrayList<>();
       for (final Field f : _MinecraftServer.getDeclaredFields()) {
         if (f.getType() == _TickData && f.getName().startsWith("tickTimes")) {
           f.setAccessible(true);
-          tickTimesFieldsList.add(Pair.of(f.getName().substring("tickTimes".length()), f));
+          final MethodHandle getter = lookup.unreflectGetter(f).asType(methodType(Object.class, Object.class));
+          tickTimesGettersList.add(Pair.of(f.getName().substring("tickTimes".length()), getter));
         }
       }
-      if (tickTimesFieldsList.size() < 3) {
-        throw new IllegalStateException("Expected at least 3 tickTimes fields, found " + tickTimesFieldsList.size() + ": " + tickTimesFieldsList);
+      if (tickTimesGettersList.size() < 3) {
+        throw new IllegalStateException("Expected at least 3 tickTimes fields, found " + tickTimesGettersList.size() + ": " + tickTimesGettersList);
       }
-      this.tickTimesFields = tickTimesFieldsList.toArray(new Pair[0]);
-    } catch (final ReflectiveOperationException e) {
+      this.tickTimesGetters = tickTimesGettersList.toArray(new Pair[0]);
+    } catch (final Throwable e) {
       throw new IllegalStateException("Failed to initialize", e);
     }
   }
@@ -100,35 +121,42 @@ public final class PaperTickInfoCommandFormatter implements TickInfoCommand.Form
   }
 
   @Override
-  public List<Component> formatTickTimes() {
+  public synchronized List<Component> formatTickTimes() {
+    final long now = System.nanoTime();
+    if (this.cached != null && now - this.cachedAt < CACHE_NANOS) {
+      return this.cached;
+    }
+    // TickData is mutated by the server thread every tick, so the reports have to be generated there
+    final List<Pair<String, long[]>> rawData = CompletableFuture.supplyAsync(() -> this.rawData(now), this.mainThreadExecutor).join();
+    this.cached = Collections.unmodifiableList(TPSUtil.formatTickTimes(rawData));
+    this.cachedAt = now;
+    return this.cached;
+  }
+
+  private List<Pair<String, long[]>> rawData(final long now) {
     try {
-      final Object minecraftServer = this._getServer.invoke();
-      final Object tickRateManager = this._tickRateManager.invoke(minecraftServer);
-      final long nanosecondsPerTick = (long) this._nanosecondsPerTick.invoke(tickRateManager);
-      final long now = System.nanoTime();
-
-      final List<Pair<String, long[]>> formatList = new ArrayList<>();
-      for (final Pair<String, Field> pair : this.tickTimesFields) {
-        final Object tickData = pair.second().get(minecraftServer);
+      final long nanosecondsPerTick = (long) this._nanosecondsPerTick.invokeExact(this.tickRateManager);
+
+      final List<Pair<String, long[]>> rawData = new ArrayList<>(this.tickTimesGetters.length);
+      for (final Pair<String, MethodHandle> pair : this.tickTimesGetters) {
+        final Object tickData = (Object) pair.second().invokeExact(this.minecraftServer);
         if (tickData == null) {
           throw new IllegalStateException("TickData field " + pair.first() + " was null");
         }
-        final long[] rawData = this.extractRawData(tickData, now, nanosecondsPerTick);
-        formatList.add(Pair.of(pair.first(), rawData));
+        rawData.add(Pair.of(pair.first(), this.rawData(tickData, now, nanosecondsPerTick)));
       }
-
-      return TPSUtil.formatTickTimes(formatList);
+      return rawData;
     } catch (final Throwable throwable) {
       throw new IllegalStateException("Failed to retrieve tick time statistics", throwable);
     }
   }
 
-  private long[] extractRawData(final Object tickData, final long now, final long nanosecondsPerTick) throws Throwable {
-    final Object reportData = this._generateTickReport.invoke(tickData, null, now, nanosecondsPerTick);
+  private long[] rawData(final Object tickData, final long now, final long nanosecondsPerTick) throws Throwable {
+    final Object reportData = (Object) this._generateTickReport.invokeExact(tickData, (Object) null, now, nanosecondsPerTick);
     if (reportData == null) {
       return new long[0];
     }
-    final Object timePerTickData = this._timePerTickData.invoke(reportData);
-    return (long[]) this._rawData.invoke(timePerTickData);
+    final Object timePerTickData = (Object) this._timePerTickData.invokeExact(reportData);
+    return ((long[]) this._rawData.invokeExact(timePerTickData)).clone();
   }
 }
@@ -25,10 +25,43 @@ package xyz.jpenilla.tabtps.paper.service;
 
 import org.bukkit.Bukkit;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.service.TickTimeService;
+import xyz.jpenilla.tabtps.common.util.MetricsSnapshot;
+import xyz.jpenilla.tabtps.common.util.RollingAverage;
+import xyz.jpenilla.tabtps.common.util.TPSUtil;
+import xyz.jpenilla.tabtps.common.util.TickTimes;
 
 @NullMarked
 public final class PaperTickTimeService implements TickTimeService {
+  private final TickTimes tickTimes5s = new TickTimes(100);
+  private volatile @Nullable MetricsSnapshot snapshot;
+
+  /**
+   * Records a tick and publishes a new snapshot every {@link RollingAverage#SAMPLE_INTERVAL} ticks.
+   * Called from the server thread at the end of each tick.
+   *
+   * @param tick tick number
+   * @param durationNanos tick duration in nanoseconds
+   */
+  public void tick(final int tick, final long durationNanos) {
+    this.tickTimes5s.add(tick, durationNanos);
+    if (tick % RollingAverage.SAMPLE_INTERVAL == 0) {
+      this.snapshot = MetricsSnapshot.of(
+        Bukkit.getTPS(),
+        Bukkit.getAverageTickTime(),
+        TPSUtil.toMilliseconds(this.tickTimes5s.max()),
+        tick
+      );
+    }
+  }
+
+  @Override
+  public MetricsSnapshot snapshot() {
+    final MetricsSnapshot snapshot = this.snapshot;
+    return snapshot != null ? snapshot : MetricsSnapshot.capture(this, 0);
+  }
+
   @Override
   public double averageMspt() {
     return Bukkit.getAverageTickTime();
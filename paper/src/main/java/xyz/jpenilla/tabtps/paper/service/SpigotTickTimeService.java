@@ -24,12 +24,34 @@
 package xyz.jpenilla.tabtps.paper.service;
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import xyz.jpenilla.tabtps.common.service.TickTimeService;
+import xyz.jpenilla.tabtps.common.util.MetricsSnapshot;
+import xyz.jpenilla.tabtps.common.util.RollingAverage;
 
 import static xyz.jpenilla.tabtps.paper.util.SpigotReflection.spigotReflection;
 
 @NullMarked
 public final class SpigotTickTimeService implements TickTimeService {
+  private volatile @Nullable MetricsSnapshot snapshot;
+  private int ticks;
+
+  /**
+   * Publishes a new snapshot. Spigot has no tick event, so this is called from a task
+   * that runs every {@link RollingAverage#SAMPLE_INTERVAL} ticks, and the tick count is
+   * counted from when the task was started.
+   */
+  public void publish() {
+    this.ticks += RollingAverage.SAMPLE_INTERVAL;
+    this.snapshot = MetricsSnapshot.capture(this, this.ticks);
+  }
+
+  @Override
+  public MetricsSnapshot snapshot() {
+    final MetricsSnapshot snapshot = this.snapshot;
+    return snapshot != null ? snapshot : MetricsSnapshot.capture(this, 0);
+  }
+
   @Override
   public double averageMspt() {
     return spigotReflection().averageTickTime();
@@ -0,0 +1,232 @@
+/*
+ * This file is part of TabTPS, licensed under the MIT License.
+ *
+ * Copyright (c) 2020-2024 Jason Penilla
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package xyz.jpenilla.tabtps.paper.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Access to Paper's own Adventure API, for the Component based player list and scoreboard methods.
+ *
+ * <p>Our copy of Adventure is relocated, so components are passed to the server as JSON, and the
+ * server's types are only handled as {@link Object}. Class names are joined at runtime so relocation
+ * doesn't rewrite them to our copy.</p>
+ */
+@NullMarked
+public final class NativeAdventure {
+  private static final @Nullable NativeAdventure INSTANCE = create();
+
+  private final Object nativeSerializer;
+  private final MethodHandle _deserialize;
+  private final MethodHandle _append;
+  private final MethodHandle _getPlayerListName;
+  private final MethodHandle _setPlayerListName;
+  private final MethodHandle _registerNewObjective;
+  private final MethodHandle _setObjectiveDisplayName;
+  private final MethodHandle _setTeamPrefix;
+  private final @Nullable Object blankNumberFormat;
+  private final @Nullable MethodHandle _setNumberFormat;
+
+  private NativeAdventure() throws ReflectiveOperationException {
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    final Class<?> _Component = Class.forName(adventureClass("text", "Component"));
+    final Class<?> _GsonComponentSerializer = Class.forName(adventureClass("text", "serializer", "gson", "GsonComponentSerializer"));
+
+    try {
+      this.nativeSerializer = (Object) lookup.findStatic(_GsonComponentSerializer, "gson", methodType(_GsonComponentSerializer)).invoke();
+    } catch (final Throwable e) {
+      throw new ReflectiveOperationException("Failed to get the server's GsonComponentSerializer", e);
+    }
+    // ComponentSerializer#deserialize is generic, so its erasure takes and returns Object
+    this._deserialize = lookup.findVirtual(_GsonComponentSerializer, "deserialize", methodType(Object.class, Object.class))
+      .asType(methodType(Object.class, Object.class, Object.class));
+    this._append = lookup.findVirtual(_Component, "append", methodType(_Component, _Component))
+      .asType(methodType(Object.class, Object.class, Object.class));
+
+    this._getPlayerListName = lookup.findVirtual(Player.class, "playerListName", methodType(_Component))
+      .asType(methodType(Object.class, Player.class));
+    this._setPlayerListName = lookup.findVirtual(Player.class, "playerListName", methodType(void.class, _Component))
+      .asType(methodType(void.class, Player.class, Object.class));
+
+    this._registerNewObjective = registerNewObjective(lookup, _Component);
+    this._setObjectiveDisplayName = lookup.findVirtual(Objective.class, "displayName", methodType(void.class, _Component))
+      .asType(methodType(void.class, Objective.class, Object.class));
+    this._setTeamPrefix = lookup.findVirtual(Team.class, "prefix", methodType(void.class, _Component))
+      .asType(methodType(void.class, Team.class, Object.class));
+
+    // Number formats were added in 1.20.3
+    Object blankNumberFormat = null;
+    MethodHandle setNumberFormat = null;
+    try {
+      final Class<?> _NumberFormat = Class.forName("io.papermc.paper.scoreboard.numbers.NumberFormat");
+      blankNumberFormat = (Object) lookup.findStatic(_NumberFormat, "blank", methodType(_NumberFormat)).invoke();
+      setNumberFormat = lookup.findVirtual(Objective.class, "numberFormat", methodType(void.class, _NumberFormat))
+        .asType(methodType(void.class, Objective.class, Object.class));
+    } catch (final Throwable ignored) {
+    }
+    this.blankNumberFormat = blankNumberFormat;
+    this._setNumberFormat = setNumberFormat;
+  }
+
+  private static MethodHandle registerNewObjective(final MethodHandles.Lookup lookup, final Class<?> _Component) throws ReflectiveOperationException {
+    try {
+      // The String criteria overload is deprecated since Criteria was added in 1.19.2
+      final Class<?> _Criteria = Class.forName("org.bukkit.scoreboard.Criteria");
+      final Object dummy = _Criteria.getField("DUMMY").get(null);
+      final MethodHandle handle = lookup.findVirtual(Scoreboard.class, "registerNewObjective", methodType(Objective.class, String.class, _Criteria, _Component));
+      return MethodHandles.insertArguments(handle, 2, dummy)
+        .asType(methodType(Objective.class, Scoreboard.class, String.class, Object.class));
+    } catch (final ClassNotFoundException | NoSuchFieldException | NoSuchMethodException e) {
+      final MethodHandle handle = lookup.findVirtual(Scoreboard.class, "registerNewObjective", methodType(Objective.class, String.class, String.class, _Component));
+      return MethodHandles.insertArguments(handle, 2, "dummy")
+        .asType(methodType(Objective.class, Scoreboard.class, String.class, Object.class));
+    }
+  }
+
+  private static String adventureClass(final String... path) {
+    return String.join(".", "net", "kyori", "adventure") + "." + String.join(".", path);
+  }
+
+  private static @Nullable NativeAdventure create() {
+    try {
+      return new NativeAdventure();
+    } catch (final ReflectiveOperationException e) {
+      // Spigot, or Paper before 1.16.5
+      return null;
+    }
+  }
+
+  /**
+   * Gets the server's Adventure API, if it has one.
+   *
+   * @return native adventure, or {@code null} if unavailable
+   */
+  public static @Nullable NativeAdventure get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Converts a component to the server's component type.
+   *
+   * <p>Translations have to be rendered first, as our translations aren't registered with the server.</p>
+   *
+   * @param component component
+   * @return native component
+   */
+  public Object asNative(final Component component) {
+    try {
+      return (Object) this._deserialize.invokeExact(this.nativeSerializer, (Object) GsonComponentSerializer.gson().serialize(component));
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to convert component", e);
+    }
+  }
+
+  public Object append(final Object nativeComponent, final Object child) {
+    try {
+      return (Object) this._append.invokeExact(nativeComponent, child);
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to append component", e);
+    }
+  }
+
+  public Object playerListName(final Player player) {
+    try {
+      return (Object) this._getPlayerListName.invokeExact(player);
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to get player list name", e);
+    }
+  }
+
+  /**
+   * Sets a player's list name.
+   *
+   * @param player player
+   * @param name   native list name, or {@code null} to show the player's name
+   */
+  public void playerListName(final Player player, final @Nullable Object name) {
+    try {
+      this._setPlayerListName.invokeExact(player, name);
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to set player list name", e);
+    }
+  }
+
+  /**
+   * Registers a dummy objective with a component display name.
+   *
+   * @param scoreboard  scoreboard
+   * @param name        objective name
+   * @param displayName native display name
+   * @return objective
+   */
+  public Objective registerNewObjective(final Scoreboard scoreboard, final String name, final Object displayName) {
+    try {
+      return (Objective) this._registerNewObjective.invokeExact(scoreboard, name, displayName);
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to register objective", e);
+    }
+  }
+
+  public void displayName(final Objective objective, final Object displayName) {
+    try {
+      this._setObjectiveDisplayName.invokeExact(objective, displayName);
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to set objective display name", e);
+    }
+  }
+
+  public void prefix(final Team team, final Object prefix) {
+    try {
+      this._setTeamPrefix.invokeExact(team, prefix);
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to set team prefix", e);
+    }
+  }
+
+  /**
+   * Hides the score numbers of an objective, on versions which support number formats.
+   *
+   * @param objective objective
+   */
+  public void hideScores(final Objective objective) {
+    if (this._setNumberFormat == null) {
+      return;
+    }
+    try {
+      this._setNumberFormat.invokeExact(objective, this.blankNumberFormat);
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Failed to set number format", e);
+    }
+  }
+}
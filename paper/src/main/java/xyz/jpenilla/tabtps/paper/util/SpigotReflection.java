@@ -24,8 +24,9 @@
 package xyz.jpenilla.tabtps.paper.util;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.util.Arrays;
 import java.util.Objects;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NullMarked;
@@ -68,13 +69,23 @@ public final class SpigotReflection {
     "net.minecraft.server.level.ServerPlayer"
   );
 
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
   private static final MethodHandle CraftPlayer_getHandle_method = needMethod(CraftPlayer_class, "getHandle", ServerPlayer_class);
   private static final MethodHandle MinecraftServer_getServer_method = needStaticMethod(MinecraftServer_class, "getServer", MinecraftServer_class);
 
-  private static final @Nullable Field ServerPlayer_latency_field = pingField();
-  private static final Field MinecraftServer_recentTps_field = needField(MinecraftServer_class, "recentTps"); // Spigot added field
+  // Exactly typed handles so callers can use invokeExact and the JIT can inline through them
+  private static final @Nullable MethodHandle Player_latency_getter = pingGetter();
+  private static final MethodHandle MinecraftServer_recentTps_getter = getter(
+    needField(MinecraftServer_class, "recentTps"), // Spigot added field
+    MethodType.methodType(double[].class, Object.class)
+  );
+  private static final MethodHandle MinecraftServer_recentTickTimes_getter = getter(
+    tickTimesField(),
+    MethodType.methodType(long[].class, Object.class)
+  );
 
-  private final Field MinecraftServer_recentTickTimes_field = tickTimesField();
+  private final Object server = needServer();
 
   private static Field tickTimesField() {
     final String tickTimes;
@@ -112,34 +123,58 @@ public final class SpigotReflection {
     return spigotNamedOld;
   }
 
+  private static @Nullable MethodHandle pingGetter() {
+    final Field field = pingField();
+    if (field == null) {
+      return null;
+    }
+    final MethodHandle latency = getter(field, MethodType.methodType(int.class, ServerPlayer_class));
+    return MethodHandles.filterReturnValue(CraftPlayer_getHandle_method, latency)
+      .asType(MethodType.methodType(int.class, Player.class));
+  }
+
+  private static Object needServer() {
+    try {
+      return Objects.requireNonNull((Object) MinecraftServer_getServer_method.invoke(), "MinecraftServer#getServer returned null");
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException("Unable to get server instance", throwable);
+    }
+  }
+
   public int ping(final Player player) {
-    if (ServerPlayer_latency_field == null) {
-      throw new IllegalStateException("ServerPlayer_latency_field is null");
+    if (Player_latency_getter == null) {
+      throw new IllegalStateException("Player_latency_getter is null");
     }
-    final Object nmsPlayer = invokeOrThrow(CraftPlayer_getHandle_method, player);
     try {
-      return ServerPlayer_latency_field.getInt(nmsPlayer);
-    } catch (final IllegalAccessException e) {
-      throw new IllegalStateException(String.format("Failed to get ping for player: '%s'", player.getName()), e);
+      return (int) Player_latency_getter.invokeExact(player);
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException(String.format("Failed to get ping for player: '%s'", player.getName()), throwable);
     }
   }
 
   public double averageTickTime() {
-    final Object server = invokeOrThrow(MinecraftServer_getServer_method);
+    final long[] recentMspt;
     try {
-      final long[] recentMspt = (long[]) this.MinecraftServer_recentTickTimes_field.get(server);
-      return TPSUtil.toMilliseconds(TPSUtil.average(recentMspt));
-    } catch (final IllegalAccessException e) {
-      throw new IllegalStateException("Failed to get server mspt", e);
+      recentMspt = (long[]) MinecraftServer_recentTickTimes_getter.invokeExact(this.server);
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException("Failed to get server mspt", throwable);
     }
+    return TPSUtil.toMilliseconds(TPSUtil.average(recentMspt));
   }
 
   public double[] recentTps() {
-    final Object server = invokeOrThrow(MinecraftServer_getServer_method);
     try {
-      return (double[]) MinecraftServer_recentTps_field.get(server);
+      return (double[]) MinecraftServer_recentTps_getter.invokeExact(this.server);
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException("Failed to get server TPS", throwable);
+    }
+  }
+
+  private static MethodHandle getter(final Field field, final MethodType type) {
+    try {
+      return LOOKUP.unreflectGetter(field).asType(type);
     } catch (final IllegalAccessException e) {
-      throw new IllegalStateException("Failed to get server TPS", e);
+      throw new IllegalStateException(String.format("Unable to access field '%s' in class '%s'", field.getName(), field.getDeclaringClass().getCanonicalName()), e);
     }
   }
 
@@ -175,15 +210,4 @@ public final class SpigotReflection {
       throw new IllegalStateException(String.format("Unable to find field '%s' in class '%s'", fieldName, holderClass.getCanonicalName()), e);
     }
   }
-
-  private static @Nullable Object invokeOrThrow(final MethodHandle methodHandle, final @Nullable Object... params) {
-    try {
-      if (params.length == 0) {
-        return methodHandle.invoke();
-      }
-      return methodHandle.invokeWithArguments(params);
-    } catch (final Throwable throwable) {
-      throw new IllegalStateException(String.format("Unable to invoke method with args '%s'", Arrays.toString(params)), throwable);
-    }
-  }
 }
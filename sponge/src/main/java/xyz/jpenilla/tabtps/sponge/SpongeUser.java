@@ -30,6 +30,7 @@ import org.jspecify.annotations.NullMarked;
 import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import xyz.jpenilla.tabtps.common.AbstractUser;
 import xyz.jpenilla.tabtps.common.TabTPS;
+import xyz.jpenilla.tabtps.common.display.SidebarView;
 
 @NullMarked
 public final class SpongeUser extends AbstractUser<ServerPlayer> {
@@ -56,6 +57,11 @@ public final class SpongeUser extends AbstractUser<ServerPlayer> {
     return this.base().isOnline();
   }
 
+  @Override
+  public String world() {
+    return this.base().world().key().asString();
+  }
+
   @Override
   public int ping() {
     final Throwable err;
@@ -75,6 +81,11 @@ public final class SpongeUser extends AbstractUser<ServerPlayer> {
     throw new RuntimeException("Failed to get ping", err);
   }
 
+  @Override
+  public SidebarView createSidebarView() {
+    return new SpongeSidebarView(this.base());
+  }
+
   @Override
   public Audience audience() {
     return this.base();
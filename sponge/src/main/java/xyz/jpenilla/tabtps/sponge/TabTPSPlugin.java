@@ -28,9 +28,10 @@ import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
 import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import net.minecraft.core.registries.BuiltInRegistries;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.SenderMapper;
-import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.sponge.CloudInjectionModule;
 import org.incendo.cloud.sponge.SpongeCommandManager;
 import org.jspecify.annotations.NullMarked;
@@ -45,7 +46,9 @@ import org.spongepowered.plugin.builtin.jvm.Plugin;
 import xyz.jpenilla.tabtps.common.TabTPS;
 import xyz.jpenilla.tabtps.common.TabTPSPlatform;
 import xyz.jpenilla.tabtps.common.command.Commander;
+import xyz.jpenilla.tabtps.common.command.Commands;
 import xyz.jpenilla.tabtps.common.command.DelegateUser;
+import xyz.jpenilla.tabtps.common.command.commands.HotspotCommand;
 import xyz.jpenilla.tabtps.common.command.commands.TickInfoCommand;
 import xyz.jpenilla.tabtps.common.service.TickTimeService;
 import xyz.jpenilla.tabtps.common.service.UserService;
@@ -57,6 +60,7 @@ import xyz.jpenilla.tabtps.sponge.service.SpongeUserService;
 @Plugin("tabtps")
 @NullMarked
 public final class TabTPSPlugin implements TabTPSPlatform<ServerPlayer, SpongeUser> {
+  private static TabTPSPlugin instance;
   private final Injector injector;
   private final PluginContainer pluginContainer;
   private final Path dataDirectory;
@@ -73,9 +77,14 @@ public final class TabTPSPlugin implements TabTPSPlatform<ServerPlayer, SpongeUs
     final Injector injector,
     final Game game
   ) {
+    if (instance != null) {
+      throw new IllegalStateException("Cannot create a second instance of " + this.getClass().getName());
+    }
+    instance = this;
+
     final CloudInjectionModule<Commander> cloudModule = new CloudInjectionModule<>(
       Commander.class,
-      ExecutionCoordinator.simpleCoordinator(),
+      Commands.executionCoordinator(this::tabTPS),
       SenderMapper.create(
         commandCause -> {
           if (commandCause.subject() instanceof ServerPlayer) {
@@ -104,11 +113,16 @@ public final class TabTPSPlugin implements TabTPSPlatform<ServerPlayer, SpongeUs
     this.commandManager.parserMapper().cloudNumberSuggestions(true);
     this.tabTPS = new TabTPS(this);
     TickInfoCommand.withFormatter(this.tabTPS(), this.tabTPS().commands(), new SpongeTickInfoCommandFormatter()).register();
+    new HotspotCommand(this.tabTPS(), this.tabTPS().commands(), TabTPSPlugin::entityTypeName, TabTPSPlugin::blockEntityTypeName).register();
     new SpongePingCommand(this, this.tabTPS.commands()).register();
     game.eventManager().registerListeners(this.pluginContainer, new UserListener(this));
     this.logger.info("Done initializing TabTPS.");
   }
 
+  public static TabTPSPlugin get() {
+    return instance;
+  }
+
   @Override
   public UserService<ServerPlayer, SpongeUser> userService() {
     return this.userService;
@@ -144,6 +158,11 @@ public final class TabTPSPlugin implements TabTPSPlatform<ServerPlayer, SpongeUs
       .forEach(this.game.server().commandManager()::updateCommandTreeForPlayer);
   }
 
+  @Override
+  public Executor mainThreadExecutor() {
+    return task -> this.game.server().scheduler().executor(this.pluginContainer).execute(task);
+  }
+
   @Override
   public Logger logger() {
     return this.logger;
@@ -153,4 +172,12 @@ public final class TabTPSPlugin implements TabTPSPlatform<ServerPlayer, SpongeUs
   public CommandManager<Commander> commandManager() {
     return this.commandManager;
   }
+
+  private static String entityTypeName(final int id) {
+    return String.valueOf(BuiltInRegistries.ENTITY_TYPE.getKey(BuiltInRegistries.ENTITY_TYPE.byId(id)));
+  }
+
+  private static String blockEntityTypeName(final int id) {
+    return String.valueOf(BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(BuiltInRegistries.BLOCK_ENTITY_TYPE.byId(id)));
+  }
 }
@@ -25,8 +25,13 @@ package xyz.jpenilla.tabtps.sponge.mixin;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.BooleanSupplier;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.profiling.ProfilerFiller;
 import org.jspecify.annotations.NullMarked;
 import org.spongepowered.asm.mixin.Final;
@@ -38,20 +43,32 @@ import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
-import xyz.jpenilla.tabtps.common.service.TickTimeService;
+import xyz.jpenilla.tabtps.common.service.TickPhaseService;
+import xyz.jpenilla.tabtps.common.service.WorldTickTimeService;
+import xyz.jpenilla.tabtps.common.util.HotspotSampler;
+import xyz.jpenilla.tabtps.common.util.IdleMode;
+import xyz.jpenilla.tabtps.common.util.MetricsSnapshot;
 import xyz.jpenilla.tabtps.common.util.RollingAverage;
+import xyz.jpenilla.tabtps.common.util.StallWatchdog;
 import xyz.jpenilla.tabtps.common.util.TPSUtil;
+import xyz.jpenilla.tabtps.common.util.TickPhases;
 import xyz.jpenilla.tabtps.common.util.TickTimes;
 import xyz.jpenilla.tabtps.common.util.TickingState;
+import xyz.jpenilla.tabtps.sponge.TabTPSPlugin;
 import xyz.jpenilla.tabtps.sponge.access.MinecraftServerAccess;
+import xyz.jpenilla.tabtps.sponge.access.ServerLevelAccess;
 
 /**
- * Adds TPS and tick time rolling averages.
+ * Adds TPS and tick time rolling averages, tick phase timings, and exposes per-world tick times.
  */
 @Unique
 @Mixin(MinecraftServer.class)
-@Implements({@Interface(iface = TickTimeService.class, prefix = "tabtps$")})
+@Implements({
+  @Interface(iface = WorldTickTimeService.class, prefix = "tabtps$"),
+  @Interface(iface = TickPhaseService.class, prefix = "tabtps$")
+})
 @NullMarked
 abstract class MinecraftServerMixin implements MinecraftServerAccess {
   @Unique
@@ -70,6 +87,16 @@ abstract class MinecraftServerMixin implements MinecraftServerAccess {
   @Unique
   private final RollingAverage tps15m = new RollingAverage(60 * 15);
 
+  @Unique
+  private final TickPhases tickPhases = new TickPhases();
+
+  @Unique
+  private volatile MetricsSnapshot snapshot = MetricsSnapshot.EMPTY;
+  @Unique
+  private volatile Map<String, long[]> worldTickTimes = Collections.emptyMap();
+  @Unique
+  private volatile Map<String, Double> worldMspt = Collections.emptyMap();
+
   @Unique
   private long previousTime;
   @Unique
@@ -78,12 +105,21 @@ abstract class MinecraftServerMixin implements MinecraftServerAccess {
   @Shadow private int tickCount;
   @Shadow @Final private long[] tickTimesNanos;
 
+  @Shadow
+  public abstract Iterable<ServerLevel> getAllLevels();
+
+  @Inject(method = "tickServer", at = @At("HEAD"))
+  private void injectTickStart(final BooleanSupplier keepTicking, final CallbackInfo ci) {
+    StallWatchdog.heartbeat();
+  }
+
   @Inject(
     method = "tickServer",
     at = @At(value = "INVOKE", target = "Lorg/slf4j/Logger;info(Ljava/lang/String;Ljava/lang/Object;)V", ordinal = 0)
   )
   private void injectPause(final BooleanSupplier keepTicking, final CallbackInfo ci) {
     this.tickingState = TickingState.NOT_TICKING;
+    IdleMode.serverPaused();
   }
 
   @Inject(method = "tickServer", at = @At(value = "RETURN", ordinal = 1), locals = LocalCapture.CAPTURE_FAILHARD)
@@ -94,9 +130,13 @@ abstract class MinecraftServerMixin implements MinecraftServerAccess {
     final ProfilerFiller profilerFiller,
     final long tickDurationNanos
   ) {
+    IdleMode.serverTicking();
     this.tickTimes5s.add(this.tickCount, tickDurationNanos);
     this.tickTimes10s.add(this.tickCount, tickDurationNanos);
     this.tickTimes60s.add(this.tickCount, tickDurationNanos);
+    this.tickPhases.endTick(this.tickCount, tickDurationNanos);
+    TabTPSPlugin.get().tabTPS().gcMonitor().recordTick(tickStartTimeNanos, tickDurationNanos);
+    HotspotSampler.tick();
 
     if (this.tickCount % RollingAverage.SAMPLE_INTERVAL == 0) {
       if (this.tickingState == TickingState.NOT_TICKING) {
@@ -114,9 +154,68 @@ abstract class MinecraftServerMixin implements MinecraftServerAccess {
         this.tps5m.add(currentTps, diff);
         this.tps15m.add(currentTps, diff);
       }
+      this.snapshot = MetricsSnapshot.of(
+        this.tabtps$recentTps(),
+        this.tabtps$averageMspt(),
+        TPSUtil.toMilliseconds(this.tickTimes5s.max()),
+        this.tickCount
+      );
+      this.publishWorlds();
     }
   }
 
+  @Inject(
+    method = "tickChildren",
+    at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ServerLevel;tick(Ljava/util/function/BooleanSupplier;)V")
+  )
+  private void injectWorldTickStart(final CallbackInfo ci) {
+    this.tickPhases.start(TickPhases.Phase.WORLDS);
+  }
+
+  @Inject(
+    method = "tickChildren",
+    at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ServerLevel;tick(Ljava/util/function/BooleanSupplier;)V", shift = At.Shift.AFTER)
+  )
+  private void injectWorldTickEnd(final CallbackInfo ci) {
+    this.tickPhases.end(TickPhases.Phase.WORLDS);
+  }
+
+  @Inject(
+    method = "tickChildren",
+    at = @At(value = "INVOKE", target = "Lnet/minecraft/server/network/ServerConnectionListener;tick()V")
+  )
+  private void injectNetworkTickStart(final CallbackInfo ci) {
+    this.tickPhases.start(TickPhases.Phase.NETWORK);
+  }
+
+  @Inject(
+    method = "tickChildren",
+    at = @At(value = "INVOKE", target = "Lnet/minecraft/server/network/ServerConnectionListener;tick()V", shift = At.Shift.AFTER)
+  )
+  private void injectNetworkTickEnd(final CallbackInfo ci) {
+    this.tickPhases.end(TickPhases.Phase.NETWORK);
+  }
+
+  @Inject(method = "saveEverything", at = @At("HEAD"))
+  private void injectSaveStart(final CallbackInfoReturnable<Boolean> cir) {
+    this.tickPhases.start(TickPhases.Phase.SAVING);
+  }
+
+  @Inject(method = "saveEverything", at = @At("RETURN"))
+  private void injectSaveEnd(final CallbackInfoReturnable<Boolean> cir) {
+    this.tickPhases.end(TickPhases.Phase.SAVING);
+  }
+
+  @Inject(method = "doRunTask(Lnet/minecraft/server/TickTask;)V", at = @At("HEAD"))
+  private void injectTaskStart(final CallbackInfo ci) {
+    this.tickPhases.start(TickPhases.Phase.TASKS);
+  }
+
+  @Inject(method = "doRunTask(Lnet/minecraft/server/TickTask;)V", at = @At("RETURN"))
+  private void injectTaskEnd(final CallbackInfo ci) {
+    this.tickPhases.end(TickPhases.Phase.TASKS);
+  }
+
   public double tabtps$averageMspt() {
     return TPSUtil.toMilliseconds(TPSUtil.average(this.tickTimesNanos));
   }
@@ -130,6 +229,37 @@ abstract class MinecraftServerMixin implements MinecraftServerAccess {
     return tps;
   }
 
+  @Unique
+  private void publishWorlds() {
+    // Worlds may only be iterated on the server thread, and their tick times are written by it,
+    // so readers get a copy of both
+    final Map<String, long[]> tickTimes = new LinkedHashMap<>();
+    final Map<String, Double> mspt = new HashMap<>();
+    for (final ServerLevel level : this.getAllLevels()) {
+      final ServerLevelAccess access = (ServerLevelAccess) level;
+      tickTimes.put(access.worldIdentifier(), access.tickTimes().times());
+      mspt.put(access.worldIdentifier(), TPSUtil.toMilliseconds(access.tickTimes().average()));
+    }
+    this.worldTickTimes = Collections.unmodifiableMap(tickTimes);
+    this.worldMspt = Collections.unmodifiableMap(mspt);
+  }
+
+  public MetricsSnapshot tabtps$snapshot() {
+    return this.snapshot;
+  }
+
+  public Map<String, long[]> tabtps$worldTickTimes() {
+    return this.worldTickTimes;
+  }
+
+  public Map<String, Double> tabtps$worldMspt() {
+    return this.worldMspt;
+  }
+
+  public TickPhases tabtps$tickPhases() {
+    return this.tickPhases;
+  }
+
   @Override
   public TickTimes tickTimes5s() {
     return this.tickTimes5s;